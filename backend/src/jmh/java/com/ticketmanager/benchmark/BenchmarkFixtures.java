@@ -0,0 +1,85 @@
+package com.ticketmanager.benchmark;
+
+import com.ticketmanager.model.Team;
+import com.ticketmanager.model.Ticket;
+import com.ticketmanager.model.TicketAction;
+import com.ticketmanager.model.TicketPriority;
+import com.ticketmanager.model.TicketStatus;
+import com.ticketmanager.model.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Detached entities shaped like the ones the services see, so benchmarks need no database
+public class BenchmarkFixtures {
+
+    public static User user(long id, String language) {
+        return User.builder()
+                .id(id)
+                .email("user" + id + "@example.com")
+                .name("User " + id)
+                .role(User.Role.USER)
+                .preferredLanguage(language)
+                .build();
+    }
+
+    // Members alternate between the two supported languages
+    public static Team team(long id, int memberCount) {
+        List<User> members = new ArrayList<>();
+        for (int i = 0; i < memberCount; i++) {
+            members.add(user(1000 * id + i, i % 2 == 0 ? "pt-BR" : "en-US"));
+        }
+        return Team.builder()
+                .id(id)
+                .name("Team " + id)
+                .description("Support team " + id)
+                .leader(members.isEmpty() ? null : members.get(0))
+                .members(members)
+                .build();
+    }
+
+    public static Ticket ticket(long id, Team team, int actionCount) {
+        User creator = user(id % 50 + 1, "pt-BR");
+        creator.setTeams(Set.of(team));
+        User assignee = team.getMembers().isEmpty() ? null : team.getMembers().get((int) (id % team.getMembers().size()));
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 9, 0).plusMinutes(id);
+
+        Ticket ticket = Ticket.builder()
+                .id(id)
+                .ticketNumber(String.format("2025%06d", id))
+                .title("Printer on floor " + id % 7 + " is not responding")
+                .description("The printer stopped responding after the last driver update. Restarting it did not help.")
+                .status(TicketStatus.values()[(int) (id % TicketStatus.values().length)])
+                .priority(TicketPriority.values()[(int) (id % TicketPriority.values().length)])
+                .estimatedTime("2h")
+                .estimatedFinishDate(LocalDate.of(2025, 1, 10))
+                .statusUpdatedAt(createdAt.plusHours(1))
+                .createdBy(creator)
+                .assignedTo(assignee)
+                .assignedTeam(team)
+                .createdAt(createdAt)
+                .updatedAt(createdAt.plusHours(2))
+                .build();
+        for (int i = 0; i < actionCount; i++) {
+            ticket.getActions().add(TicketAction.builder()
+                    .id(id * 100 + i)
+                    .ticket(ticket)
+                    .description("Status changed from OPEN to IN_PROGRESS by " + creator.getName())
+                    .actor(i % 2 == 0 ? creator : assignee)
+                    .timestamp(createdAt.plusMinutes(i))
+                    .build());
+        }
+        return ticket;
+    }
+
+    public static List<Ticket> tickets(int count, Team team) {
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            tickets.add(ticket(i, team, 0));
+        }
+        return tickets;
+    }
+}
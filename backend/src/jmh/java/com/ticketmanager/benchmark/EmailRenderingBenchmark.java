@@ -0,0 +1,147 @@
+package com.ticketmanager.benchmark;
+
+import com.ticketmanager.model.EmailDigestEntry;
+import com.ticketmanager.model.EmailOutboxMessage;
+import com.ticketmanager.model.Team;
+import com.ticketmanager.model.Ticket;
+import com.ticketmanager.model.User;
+import com.ticketmanager.repository.TicketBatchRepository;
+import com.ticketmanager.service.EmailOutboxService;
+import com.ticketmanager.service.EmailService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Thymeleaf rendering of the notification emails with the same templates and messages as the application.
+// teamPerRecipient is how team emails were rendered before they were rendered once per locale.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailRenderingBenchmark {
+
+    @Param({ "5", "50" })
+    private int teamSize;
+
+    private SpringTemplateEngine templateEngine;
+    private EmailService emailService;
+    private CapturingOutbox outbox;
+    private Ticket ticket;
+    private User assignee;
+    private List<EmailDigestEntry> digestEntries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Same template location and message bundle as the Spring Boot auto-configuration
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resolver.setCacheable(true);
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/messages");
+        messageSource.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        messageSource.setFallbackToSystemLocale(false);
+
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+        // The outbox keeps what it is given instead of writing it; no member is on a digest, so the batch
+        // repository is never called
+        outbox = new CapturingOutbox();
+        emailService = new EmailService(outbox, templateEngine, new TicketBatchRepository(new JdbcTemplate()),
+                new SimpleMeterRegistry());
+
+        Team team = BenchmarkFixtures.team(1, teamSize);
+        ticket = BenchmarkFixtures.ticket(1, team, 0);
+        assignee = team.getMembers().get(0);
+
+        digestEntries = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            digestEntries.add(EmailDigestEntry.builder()
+                    .recipientId(assignee.getId())
+                    .type(EmailDigestEntry.Type.values()[i % EmailDigestEntry.Type.values().length])
+                    .ticketId((long) i)
+                    .ticketTitle("Printer on floor " + i + " is not responding")
+                    .detail("Status changed from OPEN to IN_PROGRESS")
+                    .actorName("User " + i)
+                    .createdAt(LocalDateTime.of(2025, 1, 1, 9, 0).plusMinutes(i))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public String assignedToUser() {
+        Context context = new Context();
+        context.setLocale(Locale.forLanguageTag(assignee.getPreferredLanguage()));
+        context.setVariable("ticket", ticket);
+        context.setVariable("assignee", assignee);
+        return templateEngine.process("ticket-assigned-user", context);
+    }
+
+    @Benchmark
+    public List<String> teamPerRecipient() {
+        List<String> bodies = new ArrayList<>();
+        for (User member : ticket.getAssignedTeam().getMembers()) {
+            Context context = new Context();
+            context.setLocale(Locale.forLanguageTag(member.getPreferredLanguage()));
+            context.setVariable("ticket", ticket);
+            context.setVariable("team", ticket.getAssignedTeam());
+            context.setVariable("member", member);
+            bodies.add(templateEngine.process("ticket-assigned-team", context));
+        }
+        return bodies;
+    }
+
+    @Benchmark
+    public List<EmailOutboxMessage> teamOncePerLocale() {
+        emailService.sendTicketAssignedToTeamEmail(ticket);
+        return outbox.enqueued;
+    }
+
+    @Benchmark
+    public EmailOutboxMessage digest() {
+        return emailService.renderDigestEmail(assignee, digestEntries);
+    }
+
+    private static class CapturingOutbox extends EmailOutboxService {
+
+        private List<EmailOutboxMessage> enqueued;
+
+        CapturingOutbox() {
+            super(null, new JdbcTemplate(), null, null, new SimpleMeterRegistry(), "benchmark@example.com", 1, 1, 50,
+                    6, 30, 3600, 300, false);
+        }
+
+        @Override
+        public void enqueue(List<EmailOutboxMessage> emails) {
+            enqueued = emails;
+        }
+    }
+}
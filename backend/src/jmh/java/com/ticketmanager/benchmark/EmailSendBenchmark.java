@@ -0,0 +1,81 @@
+package com.ticketmanager.benchmark;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Sending a team fan-out of batchSize emails with one SMTP connection per email versus one connection for the
+// whole batch, as the outbox sender does. replyDelayMs stands in for the round trip to the mail server.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailSendBenchmark {
+
+    @Param({ "10", "50" })
+    private int batchSize;
+
+    @Param({ "0", "1" })
+    private long replyDelayMs;
+
+    private FakeSmtpServer server;
+    private JavaMailSenderImpl mailSender;
+    private MimeMessage[] messages;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, MessagingException {
+        server = new FakeSmtpServer(replyDelayMs);
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(server.getHost());
+        mailSender.setPort(server.getPort());
+
+        String body = "<html><body>" + "<p>A new ticket has been assigned to your team.</p>".repeat(80)
+                + "</body></html>";
+        messages = new MimeMessage[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+            helper.setFrom("no-reply@ticketmanager.com");
+            helper.setTo("member" + i + "@example.com");
+            helper.setSubject("New Ticket for Team Support");
+            helper.setText(body, true);
+            messages[i] = message;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Benchmark
+    public void connectionPerMessage() {
+        for (MimeMessage message : messages) {
+            mailSender.send(message);
+        }
+    }
+
+    @Benchmark
+    public void connectionPerBatch() {
+        mailSender.send(messages);
+    }
+}
@@ -0,0 +1,110 @@
+package com.ticketmanager.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Minimal in-process SMTP server that accepts and discards everything. Each reply can be delayed to stand in for
+// the round trip to a real mail server.
+public class FakeSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final long replyDelayMillis;
+    private final ExecutorService executor = Executors.newCachedThreadPool(
+            Thread.ofPlatform().name("fake-smtp-", 1).daemon(true).factory());
+    private final AtomicLong connections = new AtomicLong();
+    private final AtomicLong messages = new AtomicLong();
+
+    public FakeSmtpServer(long replyDelayMillis) throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.replyDelayMillis = replyDelayMillis;
+        executor.execute(this::acceptLoop);
+    }
+
+    public String getHost() {
+        return serverSocket.getInetAddress().getHostAddress();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public long getConnections() {
+        return connections.get();
+    }
+
+    public long getMessages() {
+        return messages.get();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                executor.execute(() -> handle(socket));
+            } catch (IOException e) {
+                return; // closed
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket) {
+            BufferedReader in = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+            OutputStream out = socket.getOutputStream();
+            reply(out, "220 localhost ESMTP");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO", "HELO" -> reply(out, "250 localhost");
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // discard the message
+                        }
+                        messages.incrementAndGet();
+                        reply(out, "250 OK");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "250 OK");
+                }
+            }
+        } catch (IOException | InterruptedException e) {
+            // client went away
+        }
+    }
+
+    private void reply(OutputStream out, String line) throws IOException, InterruptedException {
+        if (replyDelayMillis > 0) {
+            Thread.sleep(replyDelayMillis);
+        }
+        out.write((line + "\r\n").getBytes(StandardCharsets.ISO_8859_1));
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.ticketmanager.benchmark;
+
+import com.ticketmanager.model.Team;
+import com.ticketmanager.model.Ticket;
+import com.ticketmanager.model.TicketStatus;
+import com.ticketmanager.model.User;
+import com.ticketmanager.service.CurrentUserResolver.CurrentUser;
+import com.ticketmanager.service.TeamMembershipIndex;
+import com.ticketmanager.service.TicketPermissions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+// The permission checks TicketService runs before every write (TicketPermissions), for a user in teamCount teams
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TicketPermissionBenchmark {
+
+    @Param({ "1", "50" })
+    private int teamCount;
+
+    private CurrentUser member;
+    private CurrentUser outsider;
+    private Ticket ticket;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Team team = BenchmarkFixtures.team(teamCount, 4);
+        ticket = BenchmarkFixtures.ticket(1, team, 0);
+        ticket.setStatus(TicketStatus.IN_PROGRESS);
+
+        List<Long> memberTeams = LongStream.rangeClosed(1, teamCount).boxed().toList();
+        List<Long> otherTeams = LongStream.rangeClosed(teamCount + 1, 2L * teamCount).boxed().toList();
+        member = new CurrentUser(900L, "member@example.com", User.Role.USER,
+                TeamMembershipIndex.IdSet.of(memberTeams));
+        outsider = new CurrentUser(901L, "outsider@example.com", User.Role.USER,
+                TeamMembershipIndex.IdSet.of(otherTeams));
+    }
+
+    @Benchmark
+    public boolean isTeamMember() {
+        return TicketPermissions.isTeamMember(ticket, member);
+    }
+
+    @Benchmark
+    public boolean isTeamMemberOutsider() {
+        return TicketPermissions.isTeamMember(ticket, outsider);
+    }
+
+    @Benchmark
+    public void statusChangeAllowed() {
+        TicketPermissions.checkStatusChangeAllowed(ticket, TicketStatus.RESOLVED, member);
+    }
+
+    // Denials throw, so this includes building the exception and its stack trace
+    @Benchmark
+    public Object statusChangeDenied() {
+        try {
+            TicketPermissions.checkStatusChangeAllowed(ticket, TicketStatus.RESOLVED, outsider);
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public void assignToSelfAllowed() {
+        TicketPermissions.checkAssignAllowed(ticket, member.getId(), member);
+    }
+}
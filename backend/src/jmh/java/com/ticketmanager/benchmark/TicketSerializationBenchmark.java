@@ -0,0 +1,64 @@
+package com.ticketmanager.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ticketmanager.model.Team;
+import com.ticketmanager.model.Ticket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+// Jackson serialization of the ticket detail and list payloads, with the ObjectMapper settings Spring Boot applies
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TicketSerializationBenchmark {
+
+    @Param({ "20", "100" })
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Ticket ticketWithActions;
+    private Page<Ticket> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        Team team = BenchmarkFixtures.team(1, 8);
+        ticketWithActions = BenchmarkFixtures.ticket(1, team, 30);
+        page = new PageImpl<>(BenchmarkFixtures.tickets(pageSize, team),
+                PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "createdAt")), 10_000);
+    }
+
+    @Benchmark
+    public byte[] ticketDetail() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ticketWithActions);
+    }
+
+    @Benchmark
+    public byte[] ticketPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
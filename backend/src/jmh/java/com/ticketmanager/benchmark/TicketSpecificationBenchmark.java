@@ -0,0 +1,103 @@
+package com.ticketmanager.benchmark;
+
+import com.ticketmanager.model.Team;
+import com.ticketmanager.model.Ticket;
+import com.ticketmanager.model.TicketAction;
+import com.ticketmanager.model.TicketStatus;
+import com.ticketmanager.model.User;
+import com.ticketmanager.repository.TicketSpecification;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+// Criteria predicate building for the ticket list filters. Hibernate is booted without a database: only the
+// metamodel is needed to build the query tree.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TicketSpecificationBenchmark {
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder criteriaBuilder;
+    private List<Long> fewTeamIds;
+    private List<Long> manyTeamIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Ticket.class)
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Team.class)
+                .addAnnotatedClass(TicketAction.class)
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.MySQLDialect")
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .setProperty("hibernate.integration.envers.enabled", "false")
+                .setProperty("hibernate.hbm2ddl.auto", "none")
+                .buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+        fewTeamIds = List.of(1L, 2L, 3L);
+        manyTeamIds = LongStream.rangeClosed(1, 200).boxed().toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    // Admin listing with no filters
+    @Benchmark
+    public CriteriaQuery<Ticket> noFilters() {
+        return build(null, null, null, null, null, null, null, null, null);
+    }
+
+    // Regular user: visibility restricted to their teams, plus a status filter
+    @Benchmark
+    public CriteriaQuery<Ticket> teamVisibility() {
+        return build(null, null, null, null, false, 7L, TicketStatus.OPEN, fewTeamIds, null);
+    }
+
+    @Benchmark
+    public CriteriaQuery<Ticket> teamVisibilityManyTeams() {
+        return build(null, null, null, null, false, 7L, TicketStatus.OPEN, manyTeamIds, null);
+    }
+
+    @Benchmark
+    public CriteriaQuery<Ticket> allFilters() {
+        return build(5L, 2L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31), false, 7L,
+                TicketStatus.IN_PROGRESS, fewTeamIds, LocalDate.of(2025, 2, 1));
+    }
+
+    private CriteriaQuery<Ticket> build(Long assignedTo, Long assignedTeam, LocalDate startDate, LocalDate endDate,
+            Boolean assignedToMe, Long currentUserId, TicketStatus status, List<Long> teamIds,
+            LocalDate statusChangedFrom) {
+        CriteriaQuery<Ticket> query = criteriaBuilder.createQuery(Ticket.class);
+        Root<Ticket> root = query.from(Ticket.class);
+        Predicate predicate = TicketSpecification.filterTickets(assignedTo, assignedTeam, startDate, endDate,
+                assignedToMe, currentUserId, status, teamIds, statusChangedFrom).toPredicate(root, query,
+                        criteriaBuilder);
+        return query.where(predicate);
+    }
+}
@@ -0,0 +1,206 @@
+package com.ticketmanager.loadtest;
+
+import com.ticketmanager.loadtest.LoadTestData.SeedUser;
+import com.ticketmanager.model.TicketPriority;
+import com.ticketmanager.model.TicketStatus;
+import com.ticketmanager.repository.NotificationCounterRepository;
+import com.ticketmanager.repository.TicketDailyStatRepository;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+// Bulk-loads tickets with their actions and notifications straight through JDBC, bypassing the services, so a
+// table can be grown to millions of rows in minutes. Rows follow the shapes the application produces:
+// - a few teams get most of the tickets, and three quarters of tickets are assigned to a member of their team
+// - creation dates lean towards the recent end of the history; old tickets are mostly resolved or closed
+// - actions and notifications are spread around a configurable mean per ticket, and most notifications are read
+// Every chunk uses a seed derived from its first id, so the same scale always produces the same data. The
+// search index, audit tables and email tables are not filled.
+public class DataGenerator {
+
+    private static final String[] SUBJECTS = { "Printer", "Network", "VPN", "Laptop", "Email", "Payroll report",
+            "Badge reader", "Shared drive", "Phone", "Monitor", "CRM export", "Wi-Fi" };
+    private static final String[] PROBLEMS = { "is not responding", "drops every few minutes", "asks for a password",
+            "is very slow", "shows an error on start", "needs access for a new hire", "stopped syncing",
+            "fails after the update" };
+    private static final String[] ACTION_TEXTS = { "Checked the logs, nothing obvious yet",
+            "Asked the user for a screenshot", "Restarted the service", "Escalated to the vendor",
+            "Waiting for the user to confirm", "Replaced the cable", "Applied the fix from the knowledge base" };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationCounterRepository notificationCounterRepository;
+    private final TicketDailyStatRepository ticketDailyStatRepository;
+    private final long[] userIds;
+    private final long[] teamIds;
+    private final long[][] teamMembers;
+    private final int historyDays;
+    private final double actionsPerTicket;
+    private final double notificationsPerTicket;
+    private final int chunkSize;
+    private final int threads;
+
+    public DataGenerator(ApplicationContext context, LoadTestData data, int historyDays, double actionsPerTicket,
+            double notificationsPerTicket, int chunkSize, int threads) {
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        this.notificationCounterRepository = context.getBean(NotificationCounterRepository.class);
+        this.ticketDailyStatRepository = context.getBean(TicketDailyStatRepository.class);
+        this.historyDays = Math.max(historyDays, 1);
+        this.actionsPerTicket = actionsPerTicket;
+        this.notificationsPerTicket = notificationsPerTicket;
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.threads = Math.max(threads, 1);
+
+        List<SeedUser> users = data.getUsers();
+        this.userIds = users.stream().mapToLong(SeedUser::id).toArray();
+        Map<Long, List<SeedUser>> byTeam = users.stream().collect(Collectors.groupingBy(SeedUser::teamId));
+        // Sorted so the skew always lands on the same teams
+        List<Long> teams = byTeam.keySet().stream().sorted().toList();
+        this.teamIds = teams.stream().mapToLong(Long::longValue).toArray();
+        this.teamMembers = new long[teamIds.length][];
+        for (int i = 0; i < teamIds.length; i++) {
+            teamMembers[i] = byTeam.get(teams.get(i)).stream().mapToLong(SeedUser::id).toArray();
+        }
+    }
+
+    public long countTickets() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tickets", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    // Adds tickets until the table holds the target, then rebuilds the rollups the dashboard reads
+    public void growTo(long targetTickets) throws Exception {
+        long missing = targetTickets - countTickets();
+        if (missing <= 0) {
+            return;
+        }
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM tickets", Long.class);
+        long firstId = (maxId == null ? 0 : maxId) + 1;
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (long from = firstId; from < firstId + missing; from += chunkSize) {
+                long chunkFirst = from;
+                int count = (int) Math.min(chunkSize, firstId + missing - from);
+                chunks.add(executor.submit(() -> transactionTemplate.executeWithoutResult(
+                        status -> insertChunk(chunkFirst, count, now))));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM notification_counters");
+            notificationCounterRepository.rebuildFromNotifications();
+            jdbcTemplate.update("DELETE FROM ticket_daily_stats");
+            ticketDailyStatRepository.rebuildFromTickets();
+        });
+        // Fresh index statistics, otherwise the optimizer plans against the previous scale
+        jdbcTemplate.queryForList("ANALYZE TABLE tickets, ticket_actions, notifications");
+    }
+
+    private void insertChunk(long firstId, int count, LocalDateTime now) {
+        SplittableRandom random = new SplittableRandom(firstId);
+        List<Object[]> tickets = new ArrayList<>(count);
+        List<Object[]> actions = new ArrayList<>();
+        List<Object[]> notifications = new ArrayList<>();
+
+        for (long id = firstId; id < firstId + count; id++) {
+            // Squaring a uniform value puts most tickets on a few teams and most dates near now
+            int team = (int) (teamIds.length * Math.pow(random.nextDouble(), 2));
+            long[] members = teamMembers[team];
+            Long assignedTo = random.nextInt(4) == 0 ? null : members[random.nextInt(members.length)];
+            long createdBy = userIds[random.nextInt(userIds.length)];
+            double ageDays = historyDays * Math.pow(random.nextDouble(), 2);
+            LocalDateTime createdAt = now.minusMinutes((long) (ageDays * 24 * 60));
+            TicketStatus status = status(random, ageDays, assignedTo != null);
+            LocalDateTime statusUpdatedAt = status == TicketStatus.OPEN ? createdAt
+                    : createdAt.plusMinutes((long) (random.nextDouble() * ageDays * 24 * 60));
+            String subject = SUBJECTS[random.nextInt(SUBJECTS.length)];
+            String title = subject + " " + PROBLEMS[random.nextInt(PROBLEMS.length)];
+
+            tickets.add(new Object[] { id, "GEN-" + id, title,
+                    title + ". Reported from floor " + (1 + random.nextInt(12)) + ", happens several times a day.",
+                    status.ordinal(), priority(random).ordinal(), Timestamp.valueOf(statusUpdatedAt), createdBy,
+                    assignedTo, teamIds[team], Timestamp.valueOf(createdAt), Timestamp.valueOf(statusUpdatedAt) });
+
+            int actionCount = spread(random, actionsPerTicket);
+            for (int i = 0; i < actionCount; i++) {
+                long actor = assignedTo != null && random.nextInt(3) > 0 ? assignedTo
+                        : members[random.nextInt(members.length)];
+                actions.add(new Object[] { ACTION_TEXTS[random.nextInt(ACTION_TEXTS.length)], id, actor,
+                        Timestamp.valueOf(between(random, createdAt, statusUpdatedAt)) });
+            }
+
+            int notificationCount = spread(random, notificationsPerTicket);
+            for (int i = 0; i < notificationCount; i++) {
+                long recipient = assignedTo != null && i == 0 ? assignedTo : members[random.nextInt(members.length)];
+                // Anything older than a week has been read
+                boolean read = ageDays > 7 || random.nextInt(3) > 0;
+                notifications.add(new Object[] { recipient, "Ticket " + "GEN-" + id + " was updated: " + title, read,
+                        id, Timestamp.valueOf(between(random, createdAt, statusUpdatedAt)) });
+            }
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO tickets (id, ticket_number, title, description, status, priority, "
+                + "status_updated_at, created_by_id, assigned_to_id, assigned_team_id, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", tickets);
+        if (!actions.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO ticket_actions (description, ticket_id, actor_id, `timestamp`) "
+                    + "VALUES (?, ?, ?, ?)", actions);
+        }
+        if (!notifications.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO notifications (recipient_id, message, is_read, ticket_id, "
+                    + "created_at) VALUES (?, ?, ?, ?, ?)", notifications);
+        }
+    }
+
+    private static TicketStatus status(SplittableRandom random, double ageDays, boolean assigned) {
+        int roll = random.nextInt(100);
+        if (ageDays > 30) {
+            return roll < 60 ? TicketStatus.CLOSED : roll < 90 ? TicketStatus.RESOLVED
+                    : roll < 95 ? TicketStatus.PAUSED : assigned ? TicketStatus.IN_PROGRESS : TicketStatus.OPEN;
+        }
+        if (!assigned) {
+            return roll < 80 ? TicketStatus.OPEN : TicketStatus.CLOSED;
+        }
+        return roll < 25 ? TicketStatus.OPEN : roll < 60 ? TicketStatus.IN_PROGRESS
+                : roll < 70 ? TicketStatus.PAUSED : roll < 90 ? TicketStatus.RESOLVED : TicketStatus.CLOSED;
+    }
+
+    private static TicketPriority priority(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        return roll < 5 ? TicketPriority.CRITICAL : roll < 25 ? TicketPriority.HIGH
+                : roll < 75 ? TicketPriority.MEDIUM : TicketPriority.LOW;
+    }
+
+    // 0 to twice the mean, so the mean holds without every ticket looking the same
+    private static int spread(SplittableRandom random, double mean) {
+        double value = random.nextDouble() * 2 * mean;
+        int whole = (int) value;
+        return random.nextDouble() < value - whole ? whole + 1 : whole;
+    }
+
+    private static LocalDateTime between(SplittableRandom random, LocalDateTime from, LocalDateTime to) {
+        long minutes = java.time.Duration.between(from, to).toMinutes();
+        return minutes <= 0 ? from : from.plusMinutes(random.nextLong(minutes + 1));
+    }
+}
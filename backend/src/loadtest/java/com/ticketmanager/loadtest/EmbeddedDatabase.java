@@ -0,0 +1,46 @@
+package com.ticketmanager.loadtest;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfiguration;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+// MariaDB started from the binaries bundled with MariaDB4j, so the native MySQL statements the services use
+// (ON DUPLICATE KEY UPDATE, DELETE ... LIMIT, FOR UPDATE SKIP LOCKED) run unchanged. Data lives in a temporary
+// directory that is removed on stop.
+public class EmbeddedDatabase implements AutoCloseable {
+
+    private static final String DATABASE = "ticket_db";
+
+    private final DB db;
+    private final int port;
+
+    public EmbeddedDatabase() throws ManagedProcessException {
+        DBConfigurationBuilder builder = DBConfigurationBuilder.newBuilder();
+        builder.setPort(0); // any free port
+        DBConfiguration configuration = builder.build();
+        this.port = configuration.getPort();
+        this.db = DB.newEmbeddedDB(configuration);
+        db.start();
+        db.createDB(DATABASE);
+    }
+
+    // Same driver and options as application.yml
+    public String getJdbcUrl() {
+        return "jdbc:mysql://localhost:" + port + "/" + DATABASE
+                + "?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true&rewriteBatchedStatements=true";
+    }
+
+    public String getUsername() {
+        return "root";
+    }
+
+    public String getPassword() {
+        return "";
+    }
+
+    @Override
+    public void close() throws ManagedProcessException {
+        db.stop();
+    }
+}
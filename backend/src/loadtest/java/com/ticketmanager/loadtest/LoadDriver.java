@@ -0,0 +1,292 @@
+package com.ticketmanager.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketmanager.loadtest.LoadTestData.SeedUser;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Closed-loop HTTP load: each virtual user picks an operation by weight, sends it as a random seeded user, waits
+// for the response and goes again. Latencies are recorded per endpoint from send to fully read body.
+public class LoadDriver {
+
+    private static final String[] SEARCH_TERMS = { "printer", "network", "access", "laptop", "email", "vpn" };
+    private static final String[] TITLES = { "Printer on floor %d is not responding", "Network drop in room %d",
+            "Access request for share %d", "Laptop %d does not boot", "Email sync fails on device %d",
+            "VPN disconnects every %d minutes" };
+
+    private final String baseUrl;
+    private final LoadTestData data;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+
+    public LoadDriver(int port, LoadTestData data) {
+        this.baseUrl = "http://localhost:" + port;
+        this.data = data;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        for (Operation operation : Operation.values()) {
+            stats.put(operation.endpoint, new EndpointStats(operation.endpoint));
+        }
+    }
+
+    // Weights per operation; the names are the values of -Dloadtest.mix
+    public enum Mix {
+        // Agents and requesters mostly reading lists, tickets and their notification badge
+        BROWSE(Map.ofEntries(
+                Map.entry(Operation.LIST_TICKETS, 20), Map.entry(Operation.CURSOR_TICKETS, 5),
+                Map.entry(Operation.GET_TICKET, 20), Map.entry(Operation.FACETS, 5), Map.entry(Operation.SEARCH, 5),
+                Map.entry(Operation.STATS, 5), Map.entry(Operation.CREATE_TICKET, 3),
+                Map.entry(Operation.ADD_ACTION, 4), Map.entry(Operation.UPDATE_STATUS, 3),
+                Map.entry(Operation.UNREAD_COUNT, 15), Map.entry(Operation.NOTIFICATION_PAGE, 5),
+                Map.entry(Operation.READ_ALL, 1), Map.entry(Operation.CURRENT_USER, 8),
+                Map.entry(Operation.LIST_USERS, 1))),
+        // A busy shift: tickets coming in and being worked, which drives notifications and emails
+        TRIAGE(Map.ofEntries(
+                Map.entry(Operation.LIST_TICKETS, 10), Map.entry(Operation.GET_TICKET, 15),
+                Map.entry(Operation.FACETS, 2), Map.entry(Operation.CREATE_TICKET, 15),
+                Map.entry(Operation.ADD_ACTION, 20), Map.entry(Operation.UPDATE_STATUS, 15),
+                Map.entry(Operation.UNREAD_COUNT, 10), Map.entry(Operation.NOTIFICATION_PAGE, 5),
+                Map.entry(Operation.READ_ALL, 3), Map.entry(Operation.CURRENT_USER, 5)));
+
+        private final Operation[] operations;
+        private final int[] cumulativeWeights;
+
+        Mix(Map<Operation, Integer> weights) {
+            this.operations = weights.keySet().stream().sorted().toArray(Operation[]::new);
+            this.cumulativeWeights = new int[operations.length];
+            int total = 0;
+            for (int i = 0; i < operations.length; i++) {
+                total += weights.get(operations[i]);
+                cumulativeWeights[i] = total;
+            }
+        }
+
+        Operation next() {
+            int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (roll < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            return operations[operations.length - 1];
+        }
+    }
+
+    enum Operation {
+        LIST_TICKETS("GET /api/tickets"),
+        CURSOR_TICKETS("GET /api/tickets/cursor"),
+        GET_TICKET("GET /api/tickets/{id}"),
+        FACETS("GET /api/tickets/facets"),
+        SEARCH("GET /api/tickets/search"),
+        STATS("GET /api/tickets/stats"),
+        CREATE_TICKET("POST /api/tickets"),
+        ADD_ACTION("POST /api/tickets/{id}/actions"),
+        UPDATE_STATUS("PATCH /api/tickets/{id}/status"),
+        UNREAD_COUNT("GET /api/notifications/unread-count"),
+        NOTIFICATION_PAGE("GET /api/notifications/page"),
+        READ_ALL("PUT /api/notifications/read-all"),
+        CURRENT_USER("GET /api/users/me"),
+        LIST_USERS("GET /api/users");
+
+        private final String endpoint;
+
+        Operation(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+
+    // Creates tickets for every team through the API, so numbering, stats, search and emails are all exercised
+    public void seedTickets(int count, int concurrency) throws InterruptedException {
+        AtomicLong remaining = new AtomicLong(count);
+        runVirtualUsers(concurrency, () -> {
+            while (remaining.getAndDecrement() > 0) {
+                SeedUser user = data.randomUser();
+                send(user, Operation.CREATE_TICKET, createTicketRequest(user), null);
+            }
+        });
+    }
+
+    public void run(Mix mix, int virtualUsers, Duration warmup, Duration duration, long thinkMillis)
+            throws InterruptedException {
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+        runVirtualUsers(virtualUsers, () -> {
+            boolean measuring = false;
+            long now;
+            while ((now = System.nanoTime()) < end) {
+                if (!measuring && now >= warmupEnd) {
+                    measuring = true;
+                }
+                Operation operation = mix.next();
+                SeedUser user = data.randomUser();
+                HttpRequest request = buildRequest(operation, user);
+                if (request != null) {
+                    send(user, operation, request, measuring ? stats.get(operation.endpoint) : null);
+                }
+                if (thinkMillis > 0) {
+                    try {
+                        Thread.sleep(ThreadLocalRandom.current().nextLong(thinkMillis * 2 + 1));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        });
+    }
+
+    public List<EndpointStats> getStats() {
+        return new ArrayList<>(stats.values());
+    }
+
+    private void runVirtualUsers(int count, Runnable body) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            Thread.ofVirtual().name("load-user-" + i).start(() -> {
+                try {
+                    body.run();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    private HttpRequest buildRequest(Operation operation, SeedUser user) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long ticketId = switch (operation) {
+            case GET_TICKET, ADD_ACTION, UPDATE_STATUS -> data.randomTicket(user);
+            default -> null;
+        };
+        return switch (operation) {
+            case LIST_TICKETS -> get(user, "/api/tickets?page=" + random.nextInt(3) + "&size=20&sort=createdAt,desc");
+            case CURSOR_TICKETS -> get(user, "/api/tickets/cursor?size=20");
+            case GET_TICKET -> ticketId == null ? null : get(user, "/api/tickets/" + ticketId);
+            case FACETS -> get(user, "/api/tickets/facets");
+            case SEARCH -> get(user, "/api/tickets/search?q=" + SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)]);
+            case STATS -> get(user, "/api/tickets/stats");
+            case CREATE_TICKET -> createTicketRequest(user);
+            case ADD_ACTION -> ticketId == null ? null
+                    : request(user, "/api/tickets/" + ticketId + "/actions").POST(json(Map.of("description",
+                            "Checked with the user, waiting for the next reboot"))).build();
+            // Team members may move their tickets between these freely; reopening is admin-only
+            case UPDATE_STATUS -> ticketId == null ? null
+                    : request(user, "/api/tickets/" + ticketId + "/status?status="
+                            + (random.nextBoolean() ? "IN_PROGRESS" : "OPEN"))
+                            .method("PATCH", HttpRequest.BodyPublishers.noBody()).build();
+            case UNREAD_COUNT -> get(user, "/api/notifications/unread-count");
+            case NOTIFICATION_PAGE -> get(user, "/api/notifications/page?size=20");
+            case READ_ALL -> request(user, "/api/notifications/read-all")
+                    .PUT(HttpRequest.BodyPublishers.noBody()).build();
+            case CURRENT_USER -> get(user, "/api/users/me");
+            case LIST_USERS -> get(user, "/api/users");
+        };
+    }
+
+    private HttpRequest createTicketRequest(SeedUser user) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int number = random.nextInt(1, 100);
+        Map<String, Object> ticket = Map.of(
+                "title", String.format(TITLES[random.nextInt(TITLES.length)], number),
+                "description", "Reported by " + user.email() + ". Happens several times a day since Monday.",
+                "priority", random.nextBoolean() ? "MEDIUM" : "HIGH",
+                "assignedTeam", Map.of("id", user.teamId()));
+        return request(user, "/api/tickets").POST(json(ticket)).build();
+    }
+
+    private HttpRequest get(SeedUser user, String path) {
+        return request(user, path).GET().build();
+    }
+
+    private HttpRequest.Builder request(SeedUser user, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header(SyntheticLoginFilter.USER_HEADER, user.email())
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to write request body", e);
+        }
+    }
+
+    private void send(SeedUser user, Operation operation, HttpRequest request, EndpointStats endpointStats) {
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            ok = response.statusCode() < 400;
+            if (ok && operation == Operation.CREATE_TICKET) {
+                JsonNode created = objectMapper.readTree(response.body());
+                data.addTicket(user.teamId(), created.get("id").asLong());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // counted as an error below
+        }
+        if (endpointStats != null) {
+            endpointStats.record(System.nanoTime() - start, ok);
+        }
+    }
+
+    public static class EndpointStats {
+
+        private final String endpoint;
+        // Microseconds, up to one minute at three significant digits
+        private final Recorder recorder = new Recorder(TimeUnit.MINUTES.toMicros(1), 3);
+        private final AtomicLong errors = new AtomicLong();
+        private Histogram histogram;
+
+        EndpointStats(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        void record(long nanos, boolean ok) {
+            recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), TimeUnit.MINUTES.toMicros(1)));
+            if (!ok) {
+                errors.incrementAndGet();
+            }
+        }
+
+        // Call once, after the run
+        public Histogram histogram() {
+            if (histogram == null) {
+                histogram = recorder.getIntervalHistogram();
+            }
+            return histogram;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public long getErrors() {
+            return errors.get();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.ticketmanager.loadtest;
+
+import com.ticketmanager.TicketManagerApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// The application on a random port under the loadtest profile, against an embedded MariaDB unless
+// -Dloadtest.db.url points at a real server. Closing it stops both.
+public class LoadTestApplication implements AutoCloseable {
+
+    private final EmbeddedDatabase embedded;
+    private final ConfigurableApplicationContext context;
+    private final List<String> profiles;
+
+    private LoadTestApplication(EmbeddedDatabase embedded, ConfigurableApplicationContext context,
+            List<String> profiles) {
+        this.embedded = embedded;
+        this.context = context;
+        this.profiles = profiles;
+    }
+
+    public static LoadTestApplication start(String... extraProfiles) throws Exception {
+        EmbeddedDatabase embedded = null;
+        String url = System.getProperty("loadtest.db.url");
+        String username = System.getProperty("loadtest.db.username", "root");
+        String password = System.getProperty("loadtest.db.password", "");
+        if (url == null) {
+            embedded = new EmbeddedDatabase();
+            url = embedded.getJdbcUrl();
+            username = embedded.getUsername();
+            password = embedded.getPassword();
+        }
+
+        List<String> profiles = new ArrayList<>(List.of("loadtest"));
+        profiles.addAll(List.of(extraProfiles));
+        for (String profile : System.getProperty("loadtest.profiles", "").split(",")) {
+            if (!profile.isBlank()) {
+                profiles.add(profile.trim());
+            }
+        }
+
+        try {
+            SpringApplication application = new SpringApplication(TicketManagerApplication.class);
+            application.setAdditionalProfiles(profiles.toArray(String[]::new));
+            // Command line arguments win over application.yml
+            ConfigurableApplicationContext context = application.run(
+                    "--server.port=0",
+                    "--spring.datasource.url=" + url,
+                    "--spring.datasource.username=" + username,
+                    "--spring.datasource.password=" + password);
+            return new LoadTestApplication(embedded, context, profiles);
+        } catch (RuntimeException e) {
+            if (embedded != null) {
+                embedded.close();
+            }
+            throw e;
+        }
+    }
+
+    public ConfigurableApplicationContext getContext() {
+        return context;
+    }
+
+    public int getPort() {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    public List<String> getProfiles() {
+        return profiles;
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            context.close();
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+}
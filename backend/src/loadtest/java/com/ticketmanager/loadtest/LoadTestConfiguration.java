@@ -0,0 +1,28 @@
+package com.ticketmanager.loadtest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+// Only active in the load test: replaces the Google login and the SMTP server
+@Configuration
+@Profile("loadtest")
+public class LoadTestConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<SyntheticLoginFilter> syntheticLoginFilter() {
+        FilterRegistrationBean<SyntheticLoginFilter> registration = new FilterRegistrationBean<>(
+                new SyntheticLoginFilter());
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    // Mail auto-configuration backs off when a JavaMailSender bean exists
+    @Bean
+    public StubMailSender javaMailSender(@Value("${loadtest.mail-latency-ms:20}") long latencyMillis) {
+        return new StubMailSender(latencyMillis);
+    }
+}
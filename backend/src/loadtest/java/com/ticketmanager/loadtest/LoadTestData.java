@@ -0,0 +1,88 @@
+package com.ticketmanager.loadtest;
+
+import com.ticketmanager.model.Team;
+import com.ticketmanager.model.User;
+import com.ticketmanager.repository.TeamRepository;
+import com.ticketmanager.repository.UserRepository;
+import com.ticketmanager.service.TeamMembershipIndex;
+import org.springframework.context.ApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Users and teams written through the repositories before the run, and the ticket ids each team can see, which
+// grows as the run creates tickets
+public class LoadTestData {
+
+    private final List<SeedUser> users = new ArrayList<>();
+    private final Map<Long, List<Long>> ticketsByTeam = new ConcurrentHashMap<>();
+
+    public record SeedUser(Long id, String email, Long teamId, boolean admin) {
+    }
+
+    public static LoadTestData seed(ApplicationContext context, int userCount, int teamCount) {
+        TeamRepository teamRepository = context.getBean(TeamRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+
+        List<Team> teams = new ArrayList<>();
+        for (int i = 1; i <= teamCount; i++) {
+            teams.add(Team.builder().name("Load Team " + i).description("Load test team " + i).build());
+        }
+        teams = teamRepository.saveAll(teams);
+
+        List<User> users = new ArrayList<>();
+        for (int i = 1; i <= userCount; i++) {
+            Set<Team> userTeams = new HashSet<>();
+            userTeams.add(teams.get(i % teamCount));
+            users.add(User.builder()
+                    .email("load-user-" + i + "@example.com")
+                    .name("Load User " + i)
+                    // One admin in twenty, like a small support desk
+                    .role(i % 20 == 0 ? User.Role.ADMIN : User.Role.USER)
+                    .preferredLanguage(i % 2 == 0 ? "pt-BR" : "en-US")
+                    .teams(userTeams)
+                    .build());
+        }
+        users = userRepository.saveAll(users);
+        // Written behind the application's back, so the in-memory index has to be rebuilt
+        context.getBean(TeamMembershipIndex.class).rebuild();
+
+        LoadTestData data = new LoadTestData();
+        for (User user : users) {
+            Long teamId = user.getTeams().iterator().next().getId();
+            data.users.add(new SeedUser(user.getId(), user.getEmail(), teamId, user.getRole() == User.Role.ADMIN));
+            data.ticketsByTeam.computeIfAbsent(teamId, id -> Collections.synchronizedList(new ArrayList<>()));
+        }
+        return data;
+    }
+
+    public List<SeedUser> getUsers() {
+        return users;
+    }
+
+    public SeedUser randomUser() {
+        return users.get(ThreadLocalRandom.current().nextInt(users.size()));
+    }
+
+    public void addTicket(Long teamId, Long ticketId) {
+        ticketsByTeam.get(teamId).add(ticketId);
+    }
+
+    // A ticket the user's team can see, or null while the team has none yet
+    public Long randomTicket(SeedUser user) {
+        List<Long> tickets = ticketsByTeam.get(user.teamId());
+        synchronized (tickets) {
+            return tickets.isEmpty() ? null : tickets.get(ThreadLocalRandom.current().nextInt(tickets.size()));
+        }
+    }
+
+    public int getTicketCount() {
+        return ticketsByTeam.values().stream().mapToInt(List::size).sum();
+    }
+}
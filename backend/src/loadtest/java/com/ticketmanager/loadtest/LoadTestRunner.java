@@ -0,0 +1,101 @@
+package com.ticketmanager.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Boots the application against an embedded MariaDB (or -Dloadtest.db.url) with the Google login and SMTP server
+// stubbed out, seeds users, teams and tickets, drives a request mix and reports throughput and p50/p99 latency per
+// endpoint. Run with: mvn -Ploadtest verify [-Dloadtest.mix=TRIAGE -Dloadtest.profiles=virtual-threads]
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadDriver.Mix mix = LoadDriver.Mix.valueOf(System.getProperty("loadtest.mix", "BROWSE").toUpperCase());
+        int virtualUsers = Integer.getInteger("loadtest.users", 50);
+        int seedUsers = Integer.getInteger("loadtest.seed-users", 200);
+        int seedTeams = Integer.getInteger("loadtest.seed-teams", 10);
+        int seedTickets = Integer.getInteger("loadtest.seed-tickets", 2000);
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 15));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60));
+        long thinkMillis = Long.getLong("loadtest.think-ms", 0);
+        File result = new File(System.getProperty("loadtest.result", "target/loadtest-results.json"));
+
+        try (LoadTestApplication application = LoadTestApplication.start()) {
+            ConfigurableApplicationContext context = application.getContext();
+            List<String> activeProfiles = application.getProfiles();
+            int port = application.getPort();
+            System.out.printf("Application started on port %d with profiles %s%n", port, activeProfiles);
+
+            LoadTestData data = LoadTestData.seed(context, seedUsers, seedTeams);
+            LoadDriver driver = new LoadDriver(port, data);
+            long seedStart = System.nanoTime();
+            driver.seedTickets(seedTickets, 16);
+            System.out.printf("Seeded %d users, %d teams and %d tickets in %d s%n", seedUsers, seedTeams,
+                    data.getTicketCount(), Duration.ofNanos(System.nanoTime() - seedStart).toSeconds());
+
+            System.out.printf("Running %s with %d virtual users: %d s warm-up, %d s measured%n", mix, virtualUsers,
+                    warmup.toSeconds(), duration.toSeconds());
+            driver.run(mix, virtualUsers, warmup, duration, thinkMillis);
+
+            StubMailSender mailSender = context.getBean(StubMailSender.class);
+            Map<String, Object> report = report(driver.getStats(), duration);
+            report.put("settings", Map.of("mix", mix.name(), "virtualUsers", virtualUsers, "seedUsers", seedUsers,
+                    "seedTeams", seedTeams, "seedTickets", seedTickets, "warmupSeconds", warmup.toSeconds(),
+                    "durationSeconds", duration.toSeconds(), "thinkMillis", thinkMillis, "profiles", activeProfiles));
+            report.put("mail", Map.of("connections", mailSender.getConnections(),
+                    "messages", mailSender.getMessages()));
+
+            result.getAbsoluteFile().getParentFile().mkdirs();
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(result, report);
+            System.out.println("Results written to " + result.getAbsolutePath());
+        }
+    }
+
+    private static Map<String, Object> report(List<LoadDriver.EndpointStats> stats, Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        long totalCount = 0;
+
+        System.out.printf("%n%-36s %8s %7s %9s %9s %9s %9s%n", "Endpoint", "Requests", "Errors", "Req/s",
+                "p50 ms", "p99 ms", "Max ms");
+        for (LoadDriver.EndpointStats endpoint : stats) {
+            Histogram histogram = endpoint.histogram();
+            long count = histogram.getTotalCount();
+            if (count == 0) {
+                continue;
+            }
+            totalCount += count;
+            double p50 = histogram.getValueAtPercentile(50) / 1000.0;
+            double p99 = histogram.getValueAtPercentile(99) / 1000.0;
+            double max = histogram.getMaxValue() / 1000.0;
+            System.out.printf(Locale.ROOT, "%-36s %8d %7d %9.1f %9.2f %9.2f %9.2f%n", endpoint.getEndpoint(), count,
+                    endpoint.getErrors(), count / seconds, p50, p99, max);
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", endpoint.getEndpoint());
+            row.put("requests", count);
+            row.put("errors", endpoint.getErrors());
+            row.put("throughput", count / seconds);
+            row.put("p50Ms", p50);
+            row.put("p99Ms", p99);
+            row.put("maxMs", max);
+            endpoints.add(row);
+        }
+        System.out.printf(Locale.ROOT, "%-36s %8d %7s %9.1f%n%n", "Total", totalCount, "", totalCount / seconds);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("totalRequests", totalCount);
+        report.put("throughput", totalCount / seconds);
+        report.put("endpoints", endpoints);
+        return report;
+    }
+}
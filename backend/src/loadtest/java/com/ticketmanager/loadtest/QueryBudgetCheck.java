@@ -0,0 +1,72 @@
+package com.ticketmanager.loadtest;
+
+import com.ticketmanager.loadtest.LoadTestData.SeedUser;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Asserts the query budgets: runs the application with ticketmanager.query-budget.enforce, so a request that
+// issues more statements than its budget fails, then calls every budgeted endpoint as a team member and as an
+// admin, cold and warm. Exits non-zero if any call fails, which fails the build.
+// Run with: mvn -Ploadtest verify -Dloadtest.main=com.ticketmanager.loadtest.QueryBudgetCheck
+public class QueryBudgetCheck {
+
+    public static void main(String[] args) throws Exception {
+        List<String> failures = new ArrayList<>();
+
+        try (LoadTestApplication application = LoadTestApplication.start("query-budget-check")) {
+            LoadTestData data = LoadTestData.seed(application.getContext(), 40, 4);
+            LoadDriver driver = new LoadDriver(application.getPort(), data);
+            driver.seedTickets(200, 4);
+
+            HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            String baseUrl = "http://localhost:" + application.getPort();
+            SeedUser member = data.getUsers().stream().filter(user -> !user.admin()).findFirst().orElseThrow();
+            SeedUser admin = data.getUsers().stream().filter(SeedUser::admin).findFirst().orElseThrow();
+
+            for (SeedUser user : List.of(member, admin)) {
+                Long ticketId = data.randomTicket(user);
+                List<String> paths = List.of(
+                        "/api/tickets?page=0&size=20&sort=createdAt,desc",
+                        "/api/tickets/cursor?size=20",
+                        "/api/tickets/facets",
+                        "/api/tickets/stats",
+                        "/api/tickets/search?q=printer",
+                        "/api/tickets/export",
+                        "/api/tickets/fix-unassigned-status",
+                        "/api/tickets/" + ticketId,
+                        "/api/users/me",
+                        "/api/notifications",
+                        "/api/notifications/page?size=20",
+                        "/api/notifications/unread-count");
+                // The first round runs with the current-user cache cold
+                for (int round = 1; round <= 2; round++) {
+                    for (String path : paths) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                                .timeout(Duration.ofSeconds(30))
+                                .header(SyntheticLoginFilter.USER_HEADER, user.email())
+                                .GET().build();
+                        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                        String who = user.admin() ? "admin" : "member";
+                        System.out.printf("%-6s round %d %-50s %d%n", who, round, path, response.statusCode());
+                        if (response.statusCode() >= 500) {
+                            failures.add(who + " GET " + path + " -> " + response.statusCode());
+                        }
+                    }
+                }
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            failures.forEach(failure -> System.out.println("FAILED " + failure));
+            throw new IllegalStateException(failures.size() + " requests exceeded their query budget or failed; "
+                    + "the application log names the statement that went over");
+        }
+        System.out.println("All query budgets held");
+    }
+}
@@ -0,0 +1,244 @@
+package com.ticketmanager.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ticketmanager.loadtest.LoadTestData.SeedUser;
+import com.ticketmanager.model.TicketStatus;
+import com.ticketmanager.service.TicketService;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Grows the database through each scale (100k, 1M and 10M tickets by default) and times every filter combination
+// GET /api/tickets accepts, as an admin and as a member of the busiest team, for the summary list the UI uses and
+// for full=true. The statements Hibernate runs for the first call of each combination are replayed under EXPLAIN,
+// so the report shows which index each query shape uses and where it falls back to a full scan or a filesort.
+// Run with: mvn -Ploadtest verify -Dloadtest.main=com.ticketmanager.loadtest.QueryScalingBenchmark
+public class QueryScalingBenchmark {
+
+    enum Filter {
+        ASSIGNED_TO, ASSIGNED_TEAM, START_DATE, END_DATE, ASSIGNED_TO_ME, STATUS, STATUS_CHANGED_FROM
+    }
+
+    enum Variant {
+        SUMMARY, FULL
+    }
+
+    private record Viewer(String name, SeedUser user) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<Long> scales = Arrays.stream(System.getProperty("loadtest.scales", "100000,1000000,10000000").split(","))
+                .map(String::trim).map(Long::parseLong).toList();
+        int users = Integer.getInteger("loadtest.scaling-users", 2000);
+        int teams = Integer.getInteger("loadtest.scaling-teams", 40);
+        int historyDays = Integer.getInteger("loadtest.history-days", 3 * 365);
+        double actionsPerTicket = Double.parseDouble(System.getProperty("loadtest.actions-per-ticket", "3"));
+        double notificationsPerTicket = Double.parseDouble(
+                System.getProperty("loadtest.notifications-per-ticket", "2"));
+        int generatorThreads = Integer.getInteger("loadtest.generator-threads", 4);
+        int warmups = Integer.getInteger("loadtest.warmups", 1);
+        int iterations = Integer.getInteger("loadtest.iterations", 3);
+        int pageSize = Integer.getInteger("loadtest.page-size", 20);
+        List<Variant> variants = Arrays.stream(System.getProperty("loadtest.variants", "SUMMARY,FULL").split(","))
+                .map(String::trim).map(String::toUpperCase).map(Variant::valueOf).toList();
+        File result = new File(System.getProperty("loadtest.scaling-result", "target/query-scaling-results.json"));
+
+        try (LoadTestApplication application = LoadTestApplication.start("query-scaling")) {
+            ConfigurableApplicationContext context = application.getContext();
+            TicketService ticketService = context.getBean(TicketService.class);
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+            LoadTestData data = LoadTestData.seed(context, users, teams);
+            DataGenerator generator = new DataGenerator(context, data, historyDays, actionsPerTicket,
+                    notificationsPerTicket, 2000, generatorThreads);
+
+            // The generator gives the lowest team id the most tickets
+            long busiestTeam = data.getUsers().stream().mapToLong(SeedUser::teamId).min().orElseThrow();
+            List<SeedUser> busiestMembers = data.getUsers().stream()
+                    .filter(user -> user.teamId() == busiestTeam && !user.admin()).toList();
+            SeedUser admin = data.getUsers().stream().filter(SeedUser::admin).findFirst().orElseThrow();
+            List<Viewer> viewers = List.of(new Viewer("admin", admin), new Viewer("member", busiestMembers.get(0)));
+            Long assignee = busiestMembers.get(busiestMembers.size() > 1 ? 1 : 0).id();
+
+            Pageable pageable = PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "createdAt"));
+            LocalDate today = LocalDate.now();
+            List<Map<String, Object>> scaleReports = new ArrayList<>();
+
+            for (long scale : scales) {
+                long start = System.nanoTime();
+                generator.growTo(scale);
+                long tickets = generator.countTickets();
+                System.out.printf("%n== %,d tickets (generated in %d s) ==%n", tickets,
+                        (System.nanoTime() - start) / 1_000_000_000);
+                System.out.printf("%-7s %-8s %-70s %9s %9s %10s  %s%n", "Viewer", "Variant", "Filters", "p50 ms",
+                        "Max ms", "Total", "Plan");
+
+                List<Map<String, Object>> rows = new ArrayList<>();
+                for (Viewer viewer : viewers) {
+                    SecurityContextHolder.getContext()
+                            .setAuthentication(SyntheticLoginFilter.authentication(viewer.user().email()));
+                    try {
+                        for (Set<Filter> filters : combinations()) {
+                            for (Variant variant : variants) {
+                                Runnable call = () -> list(ticketService, variant, filters, assignee, busiestTeam,
+                                        today, pageable);
+
+                                // Warm-up first, so the captured call doesn't include the viewer lookup
+                                for (int i = 0; i < warmups; i++) {
+                                    call.run();
+                                }
+                                SqlCapture.start();
+                                long total;
+                                List<SqlCapture.Statement> statements;
+                                try {
+                                    total = list(ticketService, variant, filters, assignee, busiestTeam, today,
+                                            pageable);
+                                } finally {
+                                    statements = SqlCapture.stop();
+                                }
+
+                                long[] nanos = new long[iterations];
+                                for (int i = 0; i < iterations; i++) {
+                                    long callStart = System.nanoTime();
+                                    call.run();
+                                    nanos[i] = System.nanoTime() - callStart;
+                                }
+                                Arrays.sort(nanos);
+                                double p50 = nanos.length == 0 ? 0 : nanos[nanos.length / 2] / 1_000_000.0;
+                                double max = nanos.length == 0 ? 0 : nanos[nanos.length - 1] / 1_000_000.0;
+
+                                List<Map<String, Object>> plans = new ArrayList<>();
+                                for (SqlCapture.Statement statement : statements) {
+                                    plans.add(Map.of("sql", statement.sql(), "plan",
+                                            explain(jdbcTemplate, statement)));
+                                }
+                                String filterNames = filters.isEmpty() ? "(none)"
+                                        : filters.stream().map(Enum::name).collect(Collectors.joining(","));
+                                String summary = summarize(plans);
+                                System.out.printf(Locale.ROOT, "%-7s %-8s %-70s %9.2f %9.2f %10d  %s%n",
+                                        viewer.name(), variant, filterNames, p50, max, total, summary);
+
+                                Map<String, Object> row = new LinkedHashMap<>();
+                                row.put("viewer", viewer.name());
+                                row.put("variant", variant.name());
+                                row.put("filters", filters.stream().map(Enum::name).toList());
+                                row.put("p50Ms", p50);
+                                row.put("maxMs", max);
+                                row.put("totalElements", total);
+                                row.put("planSummary", summary);
+                                row.put("statements", plans);
+                                rows.add(row);
+                            }
+                        }
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                }
+
+                Map<String, Object> scaleReport = new LinkedHashMap<>();
+                scaleReport.put("tickets", tickets);
+                scaleReport.put("results", rows);
+                scaleReports.add(scaleReport);
+            }
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("settings", Map.of("scales", scales, "users", users, "teams", teams,
+                    "historyDays", historyDays, "actionsPerTicket", actionsPerTicket,
+                    "notificationsPerTicket", notificationsPerTicket, "warmups", warmups, "iterations", iterations,
+                    "pageSize", pageSize, "profiles", application.getProfiles()));
+            report.put("scales", scaleReports);
+            result.getAbsoluteFile().getParentFile().mkdirs();
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(result, report);
+            System.out.println("Results written to " + result.getAbsolutePath());
+        }
+    }
+
+    // Every subset of the filters, except assignedTo together with assignedToMe, where assignedToMe wins anyway
+    static List<Set<Filter>> combinations() {
+        Filter[] all = Filter.values();
+        List<Set<Filter>> combinations = new ArrayList<>();
+        for (int mask = 0; mask < 1 << all.length; mask++) {
+            Set<Filter> filters = EnumSet.noneOf(Filter.class);
+            for (int i = 0; i < all.length; i++) {
+                if ((mask & 1 << i) != 0) {
+                    filters.add(all[i]);
+                }
+            }
+            if (!(filters.contains(Filter.ASSIGNED_TO) && filters.contains(Filter.ASSIGNED_TO_ME))) {
+                combinations.add(filters);
+            }
+        }
+        return combinations;
+    }
+
+    // Values the UI sends: the last quarter but one month, open tickets, status changes of the last week
+    private static long list(TicketService ticketService, Variant variant, Set<Filter> filters, Long assignee,
+            Long team, LocalDate today, Pageable pageable) {
+        Long assignedTo = filters.contains(Filter.ASSIGNED_TO) ? assignee : null;
+        Long assignedTeam = filters.contains(Filter.ASSIGNED_TEAM) ? team : null;
+        LocalDate startDate = filters.contains(Filter.START_DATE) ? today.minusDays(90) : null;
+        LocalDate endDate = filters.contains(Filter.END_DATE) ? today.minusDays(30) : null;
+        Boolean assignedToMe = filters.contains(Filter.ASSIGNED_TO_ME) ? Boolean.TRUE : null;
+        TicketStatus status = filters.contains(Filter.STATUS) ? TicketStatus.OPEN : null;
+        LocalDate statusChangedFrom = filters.contains(Filter.STATUS_CHANGED_FROM) ? today.minusDays(7) : null;
+
+        Page<?> page = variant == Variant.SUMMARY
+                ? ticketService.getTicketSummaries(assignedTo, assignedTeam, startDate, endDate, assignedToMe, status,
+                        statusChangedFrom, pageable)
+                : ticketService.getAllTickets(assignedTo, assignedTeam, startDate, endDate, assignedToMe, status,
+                        statusChangedFrom, pageable);
+        return page.getTotalElements();
+    }
+
+    private static List<Map<String, Object>> explain(JdbcTemplate jdbcTemplate, SqlCapture.Statement statement) {
+        try {
+            return jdbcTemplate.queryForList("EXPLAIN " + statement.sql(), statement.parameters().toArray());
+        } catch (RuntimeException e) {
+            return List.of(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    // Per statement, the driving table with its index and estimated rows, then any full scan or filesort
+    @SuppressWarnings("unchecked")
+    private static String summarize(List<Map<String, Object>> plans) {
+        List<String> statements = new ArrayList<>();
+        for (Map<String, Object> plan : plans) {
+            List<Map<String, Object>> rows = (List<Map<String, Object>>) plan.get("plan");
+            if (rows.isEmpty() || rows.get(0).containsKey("error")) {
+                statements.add("EXPLAIN failed");
+                continue;
+            }
+            Map<String, Object> first = rows.get(0);
+            StringBuilder summary = new StringBuilder()
+                    .append(first.get("table")).append(':').append(first.get("key"))
+                    .append(" ~").append(first.get("rows"));
+            for (Map<String, Object> row : rows) {
+                if ("ALL".equals(row.get("type"))) {
+                    summary.append(" FULL SCAN ").append(row.get("table"));
+                }
+                if (String.valueOf(row.get("Extra")).contains("filesort")) {
+                    summary.append(" +filesort");
+                }
+            }
+            statements.add(summary.toString());
+        }
+        return String.join(" | ", statements);
+    }
+}
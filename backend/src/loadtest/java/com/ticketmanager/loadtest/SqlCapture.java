@@ -0,0 +1,110 @@
+package com.ticketmanager.loadtest;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Records the prepared statements executed on the current thread together with their bound parameters, so the
+// exact queries Hibernate builds can be replayed under EXPLAIN. Only installed under the query-scaling profile;
+// outside start()/stop() it is a plain pass-through.
+public class SqlCapture {
+
+    public record Statement(String sql, List<Object> parameters) {
+    }
+
+    private static final ThreadLocal<List<Statement>> CAPTURED = new ThreadLocal<>();
+
+    public static void start() {
+        CAPTURED.set(new ArrayList<>());
+    }
+
+    public static List<Statement> stop() {
+        List<Statement> statements = CAPTURED.get();
+        CAPTURED.remove();
+        return statements == null ? List.of() : statements;
+    }
+
+    @Configuration
+    @Profile("query-scaling")
+    static class SqlCaptureConfiguration {
+
+        @Bean
+        static BeanPostProcessor sqlCaptureDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new CapturingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    static class CapturingDataSource extends DelegatingDataSource {
+
+        CapturingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrap(super.getConnection(username, password));
+        }
+
+        private static Connection wrap(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(SqlCapture.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")
+                                && CAPTURED.get() != null) {
+                            return wrap(statement, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement wrap(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            InvocationHandler handler = (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, name.equals("setNull") ? null : args[1]);
+                } else if (name.equals("clearParameters")) {
+                    parameters.clear();
+                } else if (name.startsWith("execute") && CAPTURED.get() != null) {
+                    CAPTURED.get().add(new Statement(sql, new ArrayList<>(parameters.values())));
+                }
+                return invoke(statement, method, args);
+            };
+            return (PreparedStatement) Proxy.newProxyInstance(SqlCapture.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, handler);
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
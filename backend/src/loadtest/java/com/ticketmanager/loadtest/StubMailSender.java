@@ -0,0 +1,41 @@
+package com.ticketmanager.loadtest;
+
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.MailException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Accepts every message without connecting anywhere. Each send call (one SMTP connection in production) can be
+// delayed to stand in for the mail server.
+public class StubMailSender extends JavaMailSenderImpl {
+
+    private final long latencyMillis;
+    private final AtomicLong connections = new AtomicLong();
+    private final AtomicLong messages = new AtomicLong();
+
+    public StubMailSender(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+        connections.incrementAndGet();
+        messages.addAndGet(mimeMessages.length);
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public long getConnections() {
+        return connections.get();
+    }
+
+    public long getMessages() {
+        return messages.get();
+    }
+}
@@ -0,0 +1,44 @@
+package com.ticketmanager.loadtest;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+// Stands in for the Google login: a request carrying the user header is authenticated as that user with the same
+// OAuth2User attributes the real login produces. Runs ahead of Spring Security and hands the context over through
+// the request attribute the security context repository reads, so no session is created.
+public class SyntheticLoginFilter extends OncePerRequestFilter {
+
+    public static final String USER_HEADER = "X-Load-Test-User";
+
+    private static final String REQUEST_ATTRIBUTE =
+            org.springframework.security.web.context.RequestAttributeSecurityContextRepository.DEFAULT_REQUEST_ATTR_NAME;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String email = request.getHeader(USER_HEADER);
+        if (email != null && !email.isBlank()) {
+            request.setAttribute(REQUEST_ATTRIBUTE, new SecurityContextImpl(authentication(email)));
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // Also used to call services directly, outside a request
+    public static Authentication authentication(String email) {
+        OAuth2User principal = new DefaultOAuth2User(AuthorityUtils.createAuthorityList("OAUTH2_USER"),
+                Map.of("sub", email, "email", email, "name", email), "email");
+        return new OAuth2AuthenticationToken(principal, principal.getAuthorities(), "google");
+    }
+}
@@ -3,6 +3,8 @@ package com.ticketmanager.config;
 import com.ticketmanager.model.ApplicationParameter;
 import com.ticketmanager.model.AuthProvider;
 import com.ticketmanager.repository.ApplicationParameterRepository;
+import com.ticketmanager.service.NotificationService;
+import com.ticketmanager.service.TicketStatsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
@@ -12,10 +14,14 @@ import org.springframework.stereotype.Component;
 public class DataInitializer implements CommandLineRunner {
 
     private final ApplicationParameterRepository applicationParameterRepository;
+    private final TicketStatsService ticketStatsService;
+    private final NotificationService notificationService;
 
     @Override
     public void run(String... args) throws Exception {
         initializeAuthProviders();
+        ticketStatsService.rebuildIfEmpty();
+        notificationService.rebuildUnreadCountsIfEmpty();
     }
 
     private void initializeAuthProviders() {
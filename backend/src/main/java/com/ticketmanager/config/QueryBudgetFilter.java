@@ -0,0 +1,128 @@
+package com.ticketmanager.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Checks the number of SQL statements each request issues against the per-endpoint targets below, and records
+// the count per endpoint for the querystats actuator endpoint. Requests over budget are logged; with
+// ticketmanager.query-budget.enforce the statement that goes over fails the request instead, which is how
+// QueryBudgetCheck and QueryBudgetTest assert the budgets.
+// Keep this table in sync with the "Query budgets" section of the README.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_METRIC = "ticketmanager.http.statements";
+
+    static final Map<String, Integer> BUDGETS = new LinkedHashMap<>();
+
+    static {
+        // The current user is looked up only when the resolver cache misses; teams come from the membership index.
+        // Current user, page (with creator/assignee/team joined), count. full=true and the cursor page return
+        // full tickets, whose actions are batch-fetched.
+        BUDGETS.put("GET /api/tickets", 4);
+        BUDGETS.put("GET /api/tickets/cursor", 4);
+        // current user, counts grouped in one query
+        BUDGETS.put("GET /api/tickets/facets", 2);
+        // current user, this month and last month from the daily rollup
+        BUDGETS.put("GET /api/tickets/stats", 3);
+        // current user, matching summaries
+        BUDGETS.put("GET /api/tickets/search", 2);
+        // current user; rows are streamed on an async thread and not counted here
+        BUDGETS.put("GET /api/tickets/export", 1);
+        BUDGETS.put("GET /api/tickets/fix-unassigned-status", 1);
+        // current user, ticket with creator/assignee/team/actions/actors in one query. Only matches what has no
+        // exact entry above, so new GET /api/tickets/xyz endpoints need their own.
+        BUDGETS.put("GET /api/tickets/*", 2);
+        BUDGETS.put("GET /api/users/me", 3);
+        BUDGETS.put("GET /api/notifications", 4);
+        BUDGETS.put("GET /api/notifications/page", 4);
+        BUDGETS.put("GET /api/notifications/unread-count", 2);
+    }
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ticketmanager.query-budget.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ticketmanager.query-budget.enforce:false}")
+    private boolean enforce;
+
+    @Value("${ticketmanager.query-stats.enabled:true}")
+    private boolean statsEnabled;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled && !statsEnabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Integer budget = enabled ? findBudget(request.getMethod(), request.getRequestURI()) : null;
+        StatementCounter.reset(enforce && budget != null ? budget : Integer.MAX_VALUE);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int queries = StatementCounter.count();
+            // Don't let the limit apply to whatever runs on this thread next
+            StatementCounter.reset();
+            if (statsEnabled) {
+                recordStatements(request, queries);
+            }
+            if (budget != null && queries > budget) {
+                if (enforce) {
+                    log.error("Query budget exceeded for {} {}: request failed at statement {} (budget {})",
+                            request.getMethod(), request.getRequestURI(), queries, budget);
+                } else {
+                    log.warn("Query budget exceeded for {} {}: {} statements (budget {})", request.getMethod(),
+                            request.getRequestURI(), queries, budget);
+                }
+            } else {
+                log.debug("{} {} issued {} statements", request.getMethod(), request.getRequestURI(), queries);
+            }
+        }
+    }
+
+    // Tagged with the mapped pattern (/api/tickets/{id}) rather than the URI to keep the number of series bounded
+    private void recordStatements(HttpServletRequest request, int queries) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("SQL statements issued per request")
+                .tag("endpoint", request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED"))
+                .register(meterRegistry)
+                .record(queries);
+    }
+
+    private Integer findBudget(String method, String path) {
+        // Exact matches win over wildcard patterns such as /api/tickets/*
+        Integer exact = BUDGETS.get(method + " " + path);
+        if (exact != null) {
+            return exact;
+        }
+        for (Map.Entry<String, Integer> entry : BUDGETS.entrySet()) {
+            String[] key = entry.getKey().split(" ", 2);
+            if (key[0].equals(method) && pathMatcher.match(key[1], path)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
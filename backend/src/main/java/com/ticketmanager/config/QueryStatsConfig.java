@@ -0,0 +1,73 @@
+package com.ticketmanager.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Hibernate statistics, the slow statement log and repository attribution behind the querystats actuator
+// endpoint. Everything here is counters, a nanoTime pair per statement and a ThreadLocal per repository call,
+// so it stays on in production; set ticketmanager.query-stats.enabled=false to remove it entirely.
+@Configuration
+@ConditionalOnProperty(name = "ticketmanager.query-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryStatsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer statisticsCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            // Otherwise Hibernate logs the metrics of every session at INFO
+            properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+        };
+    }
+
+    @Bean
+    public SlowQueryLog slowQueryLog(@Value("${ticketmanager.query-stats.slow-threshold-ms:200}") long thresholdMillis,
+            @Value("${ticketmanager.query-stats.slow-log-size:50}") int capacity) {
+        return new SlowQueryLog(thresholdMillis, capacity);
+    }
+
+    @Bean
+    public QueryStatsEndpoint queryStatsEndpoint(EntityManagerFactory entityManagerFactory,
+            MeterRegistry meterRegistry, SlowQueryLog slowQueryLog) {
+        return new QueryStatsEndpoint(entityManagerFactory, meterRegistry, slowQueryLog);
+    }
+
+    // Records the repository interface and method on the calling thread, e.g. "TicketRepository.findAll"
+    @Bean
+    static BeanPostProcessor repositoryOriginPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> {
+                                String repository = repositoryInformation.getRepositoryInterface().getSimpleName();
+                                Map<Method, String> names = new ConcurrentHashMap<>();
+                                proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+                                    String previous = SlowQueryLog.enterRepository(names.computeIfAbsent(
+                                            invocation.getMethod(), method -> repository + "." + method.getName()));
+                                    try {
+                                        return invocation.proceed();
+                                    } finally {
+                                        SlowQueryLog.exitRepository(previous);
+                                    }
+                                });
+                            }));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package com.ticketmanager.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// GET /actuator/querystats: Hibernate statistics since startup, statements per request by endpoint and the
+// slow statement log. Admins only (see SecurityConfig), since it shows SQL text and the application's hot paths;
+// the log additionally holds parameter types only, never bound values.
+@Endpoint(id = "querystats")
+public class QueryStatsEndpoint {
+
+    private final Statistics statistics;
+    private final MeterRegistry meterRegistry;
+    private final SlowQueryLog slowQueryLog;
+
+    public QueryStatsEndpoint(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry,
+            SlowQueryLog slowQueryLog) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.meterRegistry = meterRegistry;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @ReadOperation
+    public Map<String, Object> queryStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("hibernate", hibernate());
+        result.put("requests", requests());
+        result.put("slowQueries", Map.of(
+                "thresholdMs", slowQueryLog.getThresholdMillis(),
+                "entries", slowQueryLog.getEntries()));
+        return result;
+    }
+
+    private Map<String, Object> hibernate() {
+        Map<String, Object> hibernate = new LinkedHashMap<>();
+        hibernate.put("since", statistics.getStart());
+        hibernate.put("statementsPrepared", statistics.getPrepareStatementCount());
+        hibernate.put("queriesExecuted", statistics.getQueryExecutionCount());
+        hibernate.put("queryMaxTimeMs", statistics.getQueryExecutionMaxTime());
+        hibernate.put("queryMaxTimeQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        hibernate.put("entityLoads", statistics.getEntityLoadCount());
+        hibernate.put("entityFetches", statistics.getEntityFetchCount());
+        hibernate.put("entityInserts", statistics.getEntityInsertCount());
+        hibernate.put("entityUpdates", statistics.getEntityUpdateCount());
+        hibernate.put("entityDeletes", statistics.getEntityDeleteCount());
+        hibernate.put("collectionLoads", statistics.getCollectionLoadCount());
+        hibernate.put("collectionFetches", statistics.getCollectionFetchCount());
+        hibernate.put("secondLevelCacheHits", statistics.getSecondLevelCacheHitCount());
+        hibernate.put("secondLevelCacheMisses", statistics.getSecondLevelCacheMissCount());
+        hibernate.put("secondLevelCachePuts", statistics.getSecondLevelCachePutCount());
+        hibernate.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        hibernate.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        hibernate.put("sessionsOpened", statistics.getSessionOpenCount());
+        hibernate.put("transactions", statistics.getTransactionCount());
+        hibernate.put("flushes", statistics.getFlushCount());
+        return hibernate;
+    }
+
+    // Recorded by QueryBudgetFilter; max is Micrometer's decaying window rather than all-time
+    private List<Map<String, Object>> requests() {
+        return meterRegistry.find(QueryBudgetFilter.STATEMENTS_METRIC).summaries().stream()
+                .sorted(Comparator.comparingDouble(DistributionSummary::mean).reversed())
+                .map(summary -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("endpoint", summary.getId().getTag("endpoint"));
+                    row.put("requests", summary.count());
+                    row.put("meanStatements", summary.mean());
+                    row.put("maxStatements", summary.max());
+                    return row;
+                })
+                .toList();
+    }
+}
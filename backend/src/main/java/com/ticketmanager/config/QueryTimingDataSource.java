@@ -0,0 +1,141 @@
+package com.ticketmanager.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Counts every statement execution for the query budget and hands the slow ones to the SlowQueryLog, which is
+// null when query stats are off. A batch counts once, as it is sent in one round trip. Per bound parameter only
+// the setter name or value class is kept, so the fast path allocates nothing beyond the proxies themselves.
+class QueryTimingDataSource extends DelegatingDataSource {
+
+    private final SlowQueryLog slowQueryLog;
+
+    QueryTimingDataSource(DataSource target, SlowQueryLog slowQueryLog) {
+        super(target);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(QueryTimingDataSource.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    return switch (method.getName()) {
+                        case "prepareStatement" -> wrap(result, PreparedStatement.class, (String) args[0]);
+                        case "prepareCall" -> wrap(result, CallableStatement.class, (String) args[0]);
+                        case "createStatement" -> wrap(result, Statement.class, null);
+                        default -> result;
+                    };
+                });
+    }
+
+    private Object wrap(Object statement, Class<?> type, String preparedSql) {
+        TimedStatement timed = new TimedStatement(statement, preparedSql);
+        return Proxy.newProxyInstance(QueryTimingDataSource.class.getClassLoader(), new Class<?>[] { type },
+                timed::invoke);
+    }
+
+    private final class TimedStatement {
+
+        private final Object target;
+        private final String preparedSql;
+        // Setter name ("setLong") or value class per parameter index; turned into text only for slow statements
+        private Object[] shapes = new Object[8];
+        private String batchSql;
+        private int batchSize;
+
+        TimedStatement(Object target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s
+                        : preparedSql != null ? preparedSql : batchSql;
+                StatementCounter.increment(sql);
+                long start = System.nanoTime();
+                try {
+                    return QueryTimingDataSource.invoke(target, method, args);
+                } finally {
+                    long nanos = System.nanoTime() - start;
+                    if (slowQueryLog != null && slowQueryLog.isSlow(nanos)) {
+                        slowQueryLog.record(sql, nanos, describeShapes(), batchSize);
+                    }
+                    if (name.endsWith("Batch")) {
+                        batchSize = 0;
+                    }
+                }
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index
+                    && index > 0) {
+                if (index > shapes.length) {
+                    shapes = Arrays.copyOf(shapes, Math.max(index, shapes.length * 2));
+                }
+                shapes[index - 1] = name.equals("setObject") ? args[1] == null ? "setNull" : args[1].getClass()
+                        : name;
+            } else if (name.equals("clearParameters")) {
+                Arrays.fill(shapes, null);
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+                if (args != null && args.length == 1 && args[0] instanceof String s) {
+                    batchSql = s;
+                }
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+            }
+            return QueryTimingDataSource.invoke(target, method, args);
+        }
+
+        private List<String> describeShapes() {
+            int count = shapes.length;
+            while (count > 0 && shapes[count - 1] == null) {
+                count--;
+            }
+            List<String> described = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Object shape = shapes[i];
+                if (shape == null) {
+                    described.add("?");
+                } else if (shape instanceof Class<?> type) {
+                    described.add(type.getSimpleName());
+                } else if (shape.equals("setNull")) {
+                    described.add("NULL");
+                } else {
+                    described.add(((String) shape).substring(3));
+                }
+            }
+            return described;
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.ticketmanager.config;
 
+import com.ticketmanager.model.User;
+import com.ticketmanager.service.CurrentUserResolver;
 import com.ticketmanager.service.CustomOAuth2UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -23,6 +28,11 @@ public class SecurityConfig {
         private final CustomAuthenticationSuccessHandler customAuthenticationSuccessHandler;
         private final CustomAuthenticationFailureHandler customAuthenticationFailureHandler;
         private final HttpCookieOAuth2AuthorizationRequestRepository httpCookieOAuth2AuthorizationRequestRepository;
+        private final CurrentUserResolver currentUserResolver;
+        // Actuator endpoints that show SQL and request patterns; checked before the public /actuator/** rule
+        private static final String[] ADMIN_URLS = {
+                        "/actuator/querystats/**"
+        };
         private static final String[] PUBLIC_URLS = {
                         "/swagger-ui/**",
                         "/v3/**",
@@ -36,6 +46,9 @@ public class SecurityConfig {
                                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                                 .csrf(AbstractHttpConfigurer::disable)
                                 .authorizeHttpRequests(auth -> auth
+                                                .requestMatchers(ADMIN_URLS)
+                                                .access((authentication, context) -> new AuthorizationDecision(
+                                                                isAdmin(authentication.get())))
                                                 .requestMatchers(PUBLIC_URLS)
                                                 .permitAll()
                                                 .anyRequest().authenticated())
@@ -55,6 +68,19 @@ public class SecurityConfig {
                 return http.build();
         }
 
+        // Roles live in the users table rather than in granted authorities
+        private boolean isAdmin(Authentication authentication) {
+                if (authentication == null || !(authentication.getPrincipal() instanceof OAuth2User oauth2User)) {
+                        return false;
+                }
+                try {
+                        String email = oauth2User.getAttribute("email");
+                        return currentUserResolver.resolve(email).getRole() == User.Role.ADMIN;
+                } catch (RuntimeException e) {
+                        return false;
+                }
+        }
+
         @Bean
         public CorsConfigurationSource corsConfigurationSource() {
                 CorsConfiguration configuration = new CorsConfiguration();
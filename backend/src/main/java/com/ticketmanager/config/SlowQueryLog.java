@@ -0,0 +1,91 @@
+package com.ticketmanager.config;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// The most recent SQL statements that took longer than the threshold, with the repository method that issued
+// them. Statements under the threshold cost one comparison; only slow ones are recorded and attributed.
+// Bound values are never kept, only their types.
+public class SlowQueryLog {
+
+    public record Entry(LocalDateTime at, double durationMs, String origin, String sql, List<String> parameters,
+            int batchSize) {
+    }
+
+    private static final ThreadLocal<String> REPOSITORY_METHOD = new ThreadLocal<>();
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final long thresholdNanos;
+    private final int capacity;
+    private final Deque<Entry> entries = new ArrayDeque<>();
+
+    public SlowQueryLog(long thresholdMillis, int capacity) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(thresholdMillis, 0));
+        this.capacity = Math.max(capacity, 1);
+    }
+
+    // Set around each Spring Data repository call; returns the previous value to restore afterwards
+    static String enterRepository(String method) {
+        String previous = REPOSITORY_METHOD.get();
+        REPOSITORY_METHOD.set(method);
+        return previous;
+    }
+
+    static void exitRepository(String previous) {
+        if (previous == null) {
+            REPOSITORY_METHOD.remove();
+        } else {
+            REPOSITORY_METHOD.set(previous);
+        }
+    }
+
+    public boolean isSlow(long nanos) {
+        return nanos >= thresholdNanos;
+    }
+
+    public void record(String sql, long nanos, List<String> parameters, int batchSize) {
+        Entry entry = new Entry(LocalDateTime.now(), nanos / 1_000_000.0, origin(), sql, parameters, batchSize);
+        synchronized (entries) {
+            if (entries.size() == capacity) {
+                entries.removeFirst();
+            }
+            entries.addLast(entry);
+        }
+    }
+
+    // Slowest first
+    public List<Entry> getEntries() {
+        List<Entry> copy;
+        synchronized (entries) {
+            copy = new ArrayList<>(entries);
+        }
+        copy.sort(Comparator.comparingDouble(Entry::durationMs).reversed());
+        return copy;
+    }
+
+    public long getThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    // The Spring Data repository method when there is one, otherwise the nearest application frame, which covers
+    // JdbcTemplate repositories and flushes at commit
+    private static String origin() {
+        String repositoryMethod = REPOSITORY_METHOD.get();
+        if (repositoryMethod != null) {
+            return repositoryMethod;
+        }
+        Optional<String> frame = STACK_WALKER.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith("com.ticketmanager.")
+                        && !f.getClassName().startsWith("com.ticketmanager.config."))
+                .findFirst()
+                .map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1) + "."
+                        + f.getMethodName()));
+        return frame.orElse("unknown");
+    }
+}
@@ -0,0 +1,29 @@
+package com.ticketmanager.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// Wraps the DataSource so QueryBudgetFilter sees every statement a request runs, including the JdbcTemplate ones
+// Hibernate never prepares. Also feeds the slow statement log when query stats are on.
+@Configuration
+@ConditionalOnExpression("${ticketmanager.query-budget.enabled:true} or ${ticketmanager.query-stats.enabled:true}")
+public class StatementCountConfig {
+
+    // Static and lazy so that the post-processor doesn't pull the log or its dependencies in early
+    @Bean
+    static BeanPostProcessor queryTimingDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource
+                        ? new QueryTimingDataSource(dataSource, slowQueryLog.getIfAvailable())
+                        : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.ticketmanager.config;
+
+// Counts the SQL statements executed on the current thread, whether they come from Hibernate or a JdbcTemplate;
+// QueryTimingDataSource calls it for every execute. With a limit set, the statement that goes over it fails, so a
+// request that exceeds its query budget errors out instead of only being logged.
+final class StatementCounter {
+
+    private static final int NO_LIMIT = Integer.MAX_VALUE;
+
+    // Count and limit
+    private static final ThreadLocal<int[]> COUNTER = ThreadLocal.withInitial(() -> new int[] { 0, NO_LIMIT });
+
+    private StatementCounter() {
+    }
+
+    static void increment(String sql) {
+        int[] counter = COUNTER.get();
+        if (++counter[0] > counter[1]) {
+            throw new IllegalStateException("Query budget of " + counter[1] + " statements exceeded by: " + sql);
+        }
+    }
+
+    static void reset() {
+        reset(NO_LIMIT);
+    }
+
+    static void reset(int limit) {
+        int[] counter = COUNTER.get();
+        counter[0] = 0;
+        counter[1] = limit;
+    }
+
+    static int count() {
+        return COUNTER.get()[0];
+    }
+}
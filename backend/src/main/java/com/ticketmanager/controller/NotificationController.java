@@ -1,14 +1,18 @@
 package com.ticketmanager.controller;
 
+import com.ticketmanager.dto.CursorPage;
 import com.ticketmanager.model.Notification;
 import com.ticketmanager.model.User;
+import com.ticketmanager.service.CurrentUserResolver;
 import com.ticketmanager.service.NotificationService;
-import com.ticketmanager.service.UserService;
+import com.ticketmanager.service.NotificationStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -19,22 +23,50 @@ import java.util.List;
 public class NotificationController {
 
     private final NotificationService notificationService;
-    private final UserService userService;
+    private final CurrentUserResolver currentUserResolver;
+    private final NotificationStreamService notificationStreamService;
 
     @GetMapping
     @Operation(summary = "Get unread notifications", description = "Retrieve unread notifications for the current user")
     public ResponseEntity<List<Notification>> getUnreadNotifications() {
-        org.springframework.security.oauth2.core.user.OAuth2User oauth2User = (org.springframework.security.oauth2.core.user.OAuth2User) org.springframework.security.core.context.SecurityContextHolder
-                .getContext().getAuthentication().getPrincipal();
-        String email = oauth2User.getAttribute("email");
-        User currentUser = userService.getCurrentUser(email);
+        User currentUser = currentUserResolver.getUser();
         return ResponseEntity.ok(notificationService.getUnreadNotifications(currentUser));
     }
 
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream notifications", description = "Server-Sent Events stream of new notifications for the current user. Unread notifications after Last-Event-ID (header, or lastEventId parameter on the first connect) are replayed.")
+    public SseEmitter streamNotifications(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) Long lastEventId) {
+        // The browser sets the header on reconnect, which is more recent than the id the page started with
+        return notificationStreamService.subscribe(currentUserResolver.resolve().getId(),
+                lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+
+    @GetMapping("/unread-count")
+    @Operation(summary = "Get unread count", description = "Number of unread notifications for the current user, read from a maintained counter")
+    public ResponseEntity<Long> getUnreadCount() {
+        return ResponseEntity.ok(notificationService.getUnreadCount(currentUserResolver.resolve().getId()));
+    }
+
+    @GetMapping("/page")
+    @Operation(summary = "Get unread notifications by cursor", description = "Unread notifications newest first, paged by an opaque cursor on (createdAt, id). totalElements is the unread count.")
+    public ResponseEntity<CursorPage<Notification>> getUnreadNotificationsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(notificationService.getUnreadPage(currentUserResolver.resolve().getId(), cursor, size));
+    }
+
     @PutMapping("/{id}/read")
     @Operation(summary = "Mark notification as read", description = "Mark a specific notification as read")
     public ResponseEntity<Void> markAsRead(@PathVariable Long id) {
-        notificationService.markAsRead(id);
+        notificationService.markAsRead(id, currentUserResolver.resolve().getId());
         return ResponseEntity.ok().build();
     }
+
+    @PutMapping("/read-all")
+    @Operation(summary = "Mark notifications as read", description = "Mark all unread notifications as read, or only those up to and including the given page cursor. Returns the number marked.")
+    public ResponseEntity<Integer> markAllAsRead(@RequestParam(required = false) String upTo) {
+        return ResponseEntity.ok(notificationService.markAllAsRead(currentUserResolver.resolve().getId(), upTo));
+    }
 }
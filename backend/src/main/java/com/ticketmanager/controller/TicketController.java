@@ -1,18 +1,32 @@
 package com.ticketmanager.controller;
 
+import com.ticketmanager.dto.BulkTicketRequest;
+import com.ticketmanager.dto.BulkTicketResult;
+import com.ticketmanager.dto.CursorPage;
+import com.ticketmanager.dto.DashboardStats;
+import com.ticketmanager.dto.TicketFacets;
+import com.ticketmanager.dto.TicketSummary;
+import com.ticketmanager.model.JobRun;
 import com.ticketmanager.model.Ticket;
 import com.ticketmanager.model.TicketStatus;
+import com.ticketmanager.service.TicketExportService;
 import com.ticketmanager.service.TicketService;
+import com.ticketmanager.service.UnassignedStatusFixJob;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springdoc.core.annotations.ParameterObject;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 @RestController
@@ -22,10 +36,12 @@ import java.util.List;
 public class TicketController {
 
     private final TicketService ticketService;
+    private final TicketExportService ticketExportService;
+    private final UnassignedStatusFixJob unassignedStatusFixJob;
 
     @GetMapping
-    @Operation(summary = "Get all tickets", description = "Retrieve a list of tickets with optional filters")
-    public ResponseEntity<Page<Ticket>> getAllTickets(
+    @Operation(summary = "Get all tickets", description = "Retrieve a list of ticket summaries with optional filters. Pass full=true to get complete ticket entities instead.")
+    public ResponseEntity<Page<?>> getAllTickets(
             @RequestParam(required = false) Long assignedTo,
             @RequestParam(required = false) Long assignedTeam,
             @RequestParam(required = false) LocalDate startDate,
@@ -33,9 +49,88 @@ public class TicketController {
             @RequestParam(required = false) Boolean assignedToMe,
             @RequestParam(required = false) TicketStatus status,
             @RequestParam(required = false) LocalDate statusChangedFrom,
+            @RequestParam(required = false, defaultValue = "false") boolean full,
             @ParameterObject Pageable pageable) {
-        return ResponseEntity.ok(ticketService.getAllTickets(assignedTo, assignedTeam, startDate, endDate, assignedToMe,
-                status, statusChangedFrom, pageable));
+        if (full) {
+            return ResponseEntity.ok(ticketService.getAllTickets(assignedTo, assignedTeam, startDate, endDate,
+                    assignedToMe, status, statusChangedFrom, pageable));
+        }
+        return ResponseEntity.ok(ticketService.getTicketSummaries(assignedTo, assignedTeam, startDate, endDate,
+                assignedToMe, status, statusChangedFrom, pageable));
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Get tickets by cursor", description = "Keyset pagination over tickets ordered by creation date (newest first). Pass the returned nextCursor to fetch the following page.")
+    public ResponseEntity<CursorPage<Ticket>> getTicketsByCursor(
+            @RequestParam(required = false) Long assignedTo,
+            @RequestParam(required = false) Long assignedTeam,
+            @RequestParam(required = false) LocalDate startDate,
+            @RequestParam(required = false) LocalDate endDate,
+            @RequestParam(required = false) Boolean assignedToMe,
+            @RequestParam(required = false) TicketStatus status,
+            @RequestParam(required = false) LocalDate statusChangedFrom,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") int size,
+            @RequestParam(required = false, defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(ticketService.getTicketsByCursor(assignedTo, assignedTeam, startDate, endDate,
+                assignedToMe, status, statusChangedFrom, cursor, size, includeTotal));
+    }
+
+    @GetMapping("/facets")
+    @Operation(summary = "Get ticket facet counts", description = "Ticket counts grouped by status, priority, assigned team and assignee, computed in a single query with the same filters and visibility rules as the ticket list")
+    public ResponseEntity<TicketFacets> getTicketFacets(
+            @RequestParam(required = false) Long assignedTo,
+            @RequestParam(required = false) Long assignedTeam,
+            @RequestParam(required = false) LocalDate startDate,
+            @RequestParam(required = false) LocalDate endDate,
+            @RequestParam(required = false) Boolean assignedToMe,
+            @RequestParam(required = false) TicketStatus status,
+            @RequestParam(required = false) LocalDate statusChangedFrom) {
+        return ResponseEntity.ok(ticketService.getTicketFacets(assignedTo, assignedTeam, startDate, endDate,
+                assignedToMe, status, statusChangedFrom));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export tickets", description = "Streams every ticket (or every action of the matching tickets) as CSV or NDJSON, optionally gzip-compressed. Accepts the same filters as the ticket list.")
+    public ResponseEntity<StreamingResponseBody> exportTickets(
+            @RequestParam(required = false) Long assignedTo,
+            @RequestParam(required = false) Long assignedTeam,
+            @RequestParam(required = false) LocalDate startDate,
+            @RequestParam(required = false) LocalDate endDate,
+            @RequestParam(required = false) Boolean assignedToMe,
+            @RequestParam(required = false) TicketStatus status,
+            @RequestParam(required = false) LocalDate statusChangedFrom,
+            @RequestParam(required = false, defaultValue = "TICKETS") TicketExportService.Dataset dataset,
+            @RequestParam(required = false, defaultValue = "CSV") TicketExportService.Format format,
+            @RequestParam(required = false, defaultValue = "false") boolean gzip) {
+        Specification<Ticket> spec = ticketService.buildVisibleTicketsSpecification(assignedTo, assignedTeam,
+                startDate, endDate, assignedToMe, status, statusChangedFrom);
+
+        String extension = format == TicketExportService.Format.CSV ? ".csv" : ".ndjson";
+        String filename = dataset.name().toLowerCase() + "-" + LocalDate.now() + extension + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+                : format == TicketExportService.Format.CSV ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                        : MediaType.parseMediaType("application/x-ndjson");
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(ticketExportService.export(spec, dataset, format, gzip));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search tickets", description = "Full-text search over ticket number, title, description and action log. Terms match whole words or word prefixes; results are ranked and limited to tickets visible to the current user.")
+    public ResponseEntity<List<TicketSummary>> searchTickets(@RequestParam String q,
+            @RequestParam(required = false, defaultValue = "20") int limit) {
+        return ResponseEntity.ok(ticketService.searchTickets(q, limit));
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get dashboard statistics", description = "Ticket totals by status for a month (defaults to the current one) and growth against the previous month, read from the daily rollup")
+    public ResponseEntity<DashboardStats> getDashboardStats(
+            @RequestParam(required = false) YearMonth month,
+            @RequestParam(required = false) Long teamId) {
+        return ResponseEntity.ok(ticketService.getDashboardStats(month, teamId));
     }
 
     @GetMapping("/{id}")
@@ -74,6 +169,24 @@ public class TicketController {
         }
     }
 
+    @PostMapping("/bulk/status")
+    @Operation(summary = "Bulk update ticket status", description = "Update the status of many tickets in one transaction. Returns one result per ticket; tickets the user may not change are reported as failures and skipped.")
+    public List<BulkTicketResult> bulkUpdateStatus(@RequestBody BulkTicketRequest request) {
+        return ticketService.bulkUpdateStatus(request.getTicketIds(), request.getStatus());
+    }
+
+    @PostMapping("/bulk/assign")
+    @Operation(summary = "Bulk assign tickets", description = "Assign many tickets to a user, or unassign them when userId is omitted")
+    public List<BulkTicketResult> bulkAssign(@RequestBody BulkTicketRequest request) {
+        return ticketService.bulkAssign(request.getTicketIds(), request.getUserId());
+    }
+
+    @PostMapping("/bulk/assign-team")
+    @Operation(summary = "Bulk assign tickets to a team", description = "Assign many tickets to a team and notify its members")
+    public List<BulkTicketResult> bulkAssignToTeam(@RequestBody BulkTicketRequest request) {
+        return ticketService.bulkAssignToTeam(request.getTicketIds(), request.getTeamId());
+    }
+
     @PutMapping("/{id}/pause")
     public ResponseEntity<Ticket> pauseTicket(@PathVariable Long id,
             @RequestBody com.ticketmanager.dto.PauseTicketRequest request) {
@@ -87,9 +200,16 @@ public class TicketController {
     }
 
     @PostMapping("/fix-unassigned-status")
-    @Operation(summary = "Fix unassigned ticket statuses", description = "Fixes tickets that are unassigned but not in OPEN status")
-    public ResponseEntity<Void> fixUnassignedTicketStatuses() {
-        ticketService.fixUnassignedTicketStatuses();
-        return ResponseEntity.ok().build();
+    @Operation(summary = "Fix unassigned ticket statuses", description = "Starts a background job that fixes tickets that are unassigned but not in OPEN status. Resumes the last interrupted run if there is one.")
+    public ResponseEntity<JobRun> fixUnassignedTicketStatuses() {
+        return ResponseEntity.accepted().body(unassignedStatusFixJob.start());
+    }
+
+    @GetMapping("/fix-unassigned-status")
+    @Operation(summary = "Get fix unassigned job status", description = "Progress of the latest fix unassigned ticket statuses run")
+    public ResponseEntity<JobRun> getFixUnassignedStatus() {
+        return unassignedStatusFixJob.getLatestRun()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 }
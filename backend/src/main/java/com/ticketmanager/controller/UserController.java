@@ -37,6 +37,16 @@ public class UserController {
         return userService.getCurrentUser(email);
     }
 
+    @org.springframework.web.bind.annotation.PutMapping("/me/email-delivery")
+    @Operation(summary = "Set email delivery", description = "Choose between one email per event and a periodic digest")
+    public User updateEmailDelivery(@AuthenticationPrincipal OAuth2User principal,
+            @org.springframework.web.bind.annotation.RequestParam com.ticketmanager.model.EmailDelivery mode) {
+        if (principal == null) {
+            throw new RuntimeException("Not authenticated");
+        }
+        return userService.updateEmailDelivery(principal.getAttribute("email"), mode);
+    }
+
     @org.springframework.web.bind.annotation.PutMapping("/{id}")
     @Operation(summary = "Update user", description = "Update user details and team assignments")
     public User updateUser(@org.springframework.web.bind.annotation.PathVariable Long id,
@@ -0,0 +1,17 @@
+package com.ticketmanager.dto;
+
+import com.ticketmanager.model.TicketStatus;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkTicketRequest {
+    private List<Long> ticketIds;
+    // Used by the status operation
+    private TicketStatus status;
+    // Used by the assign operation; null unassigns
+    private Long userId;
+    // Used by the team assign operation
+    private Long teamId;
+}
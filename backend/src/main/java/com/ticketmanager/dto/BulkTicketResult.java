@@ -0,0 +1,22 @@
+package com.ticketmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTicketResult {
+    private Long ticketId;
+    private boolean success;
+    private String error;
+
+    public static BulkTicketResult ok(Long ticketId) {
+        return new BulkTicketResult(ticketId, true, null);
+    }
+
+    public static BulkTicketResult failed(Long ticketId, String error) {
+        return new BulkTicketResult(ticketId, false, error);
+    }
+}
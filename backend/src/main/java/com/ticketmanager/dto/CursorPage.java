@@ -0,0 +1,18 @@
+package com.ticketmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+    // Only populated when the caller asks for it, since it costs a COUNT(*)
+    private Long totalElements;
+}
@@ -0,0 +1,16 @@
+package com.ticketmanager.dto;
+
+import com.ticketmanager.model.TicketStatus;
+import lombok.Data;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+public class DashboardStats {
+    private String month;
+    private long total;
+    private Map<TicketStatus, Long> byStatus = new EnumMap<>(TicketStatus.class);
+    private long previousMonthTotal;
+    private double totalGrowth;
+}
@@ -0,0 +1,27 @@
+package com.ticketmanager.dto;
+
+import com.ticketmanager.model.Notification;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Payload pushed over the notification stream; flat so it can be serialized after the session is closed
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationEvent {
+    private Long id;
+    private String message;
+    private LocalDateTime createdAt;
+    private Long ticketId;
+    private String ticketNumber;
+
+    public static NotificationEvent from(Notification notification) {
+        return new NotificationEvent(notification.getId(), notification.getMessage(),
+                notification.getCreatedAt() != null ? notification.getCreatedAt() : LocalDateTime.now(),
+                notification.getTicket() != null ? notification.getTicket().getId() : null,
+                notification.getTicket() != null ? notification.getTicket().getTicketNumber() : null);
+    }
+}
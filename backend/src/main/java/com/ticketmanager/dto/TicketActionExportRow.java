@@ -0,0 +1,20 @@
+package com.ticketmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketActionExportRow {
+    private Long ticketId;
+    private String ticketNumber;
+    private Long actionId;
+    private LocalDateTime timestamp;
+    private Long actorId;
+    private String actorName;
+    private String description;
+}
@@ -0,0 +1,21 @@
+package com.ticketmanager.dto;
+
+import com.ticketmanager.model.TicketPriority;
+import com.ticketmanager.model.TicketStatus;
+import lombok.Data;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+public class TicketFacets {
+    private long total;
+    private Map<TicketStatus, Long> byStatus = new EnumMap<>(TicketStatus.class);
+    private Map<TicketPriority, Long> byPriority = new EnumMap<>(TicketPriority.class);
+    private Map<Long, Long> byAssignedTeam = new HashMap<>();
+    private Map<Long, Long> byAssignee = new HashMap<>();
+    // Null keys cannot be serialized as JSON object keys, so unassigned buckets are reported separately
+    private long withoutTeam;
+    private long unassigned;
+}
@@ -0,0 +1,73 @@
+package com.ticketmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.ticketmanager.model.TicketPriority;
+import com.ticketmanager.model.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Lightweight list view of a ticket. Field names mirror Ticket so list clients keep working,
+// but actions and the users' team sets are never loaded.
+@Data
+@NoArgsConstructor
+public class TicketSummary {
+    private Long id;
+    private String ticketNumber;
+    private String title;
+    private TicketStatus status;
+    private TicketPriority priority;
+    private String estimatedTime;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate estimatedFinishDate;
+
+    private LocalDateTime statusUpdatedAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private UserRef createdBy;
+    private UserRef assignedTo;
+    private TeamRef assignedTeam;
+
+    // Flat constructor used by the JPA constructor expression in TicketSummaryRepositoryImpl
+    public TicketSummary(Long id, String ticketNumber, String title, TicketStatus status, TicketPriority priority,
+            String estimatedTime, LocalDate estimatedFinishDate, LocalDateTime statusUpdatedAt,
+            LocalDateTime createdAt, LocalDateTime updatedAt,
+            Long createdById, String createdByName, String createdByAvatarUrl,
+            Long assignedToId, String assignedToName, String assignedToAvatarUrl,
+            Long assignedTeamId, String assignedTeamName) {
+        this.id = id;
+        this.ticketNumber = ticketNumber;
+        this.title = title;
+        this.status = status;
+        this.priority = priority;
+        this.estimatedTime = estimatedTime;
+        this.estimatedFinishDate = estimatedFinishDate;
+        this.statusUpdatedAt = statusUpdatedAt;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.createdBy = createdById != null ? new UserRef(createdById, createdByName, createdByAvatarUrl) : null;
+        this.assignedTo = assignedToId != null ? new UserRef(assignedToId, assignedToName, assignedToAvatarUrl) : null;
+        this.assignedTeam = assignedTeamId != null ? new TeamRef(assignedTeamId, assignedTeamName) : null;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UserRef {
+        private Long id;
+        private String name;
+        private String avatarUrl;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TeamRef {
+        private Long id;
+        private String name;
+    }
+}
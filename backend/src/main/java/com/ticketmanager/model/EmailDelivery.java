@@ -0,0 +1,15 @@
+package com.ticketmanager.model;
+
+import lombok.Getter;
+
+@Getter
+public enum EmailDelivery {
+    IMMEDIATE("One email per event"),
+    DIGEST("Events collected into one email per window");
+
+    private final String description;
+
+    EmailDelivery(String description) {
+        this.description = description;
+    }
+}
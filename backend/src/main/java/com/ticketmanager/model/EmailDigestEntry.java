@@ -0,0 +1,61 @@
+package com.ticketmanager.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Ticket event waiting for the next digest email of a user who opted into digest delivery. Written in the same
+// transaction as the change, so buffered events survive restarts. Ticket details are copied at write time so the
+// digest doesn't need to load the tickets again.
+@Entity
+@Table(name = "email_digest_entries", indexes = {
+        @Index(name = "idx_email_digest_recipient", columnList = "recipient_id, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailDigestEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "recipient_id", nullable = false)
+    private Long recipientId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private Type type;
+
+    @Column(name = "ticket_id", nullable = false)
+    private Long ticketId;
+
+    private String ticketTitle;
+
+    // Team name for team assignments, action description for actions
+    @Column(columnDefinition = "TEXT")
+    private String detail;
+
+    private String actorName;
+
+    private LocalDateTime createdAt;
+
+    @Getter
+    public enum Type {
+        ASSIGNED_TO_USER("Ticket assigned to the user"),
+        ASSIGNED_TO_TEAM("Ticket assigned to one of the user's teams"),
+        ACTION_ADDED("Action added to a ticket the user created");
+
+        private final String description;
+
+        Type(String description) {
+            this.description = description;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.ticketmanager.model;
+
+import lombok.Getter;
+
+@Getter
+public enum EmailStatus {
+    PENDING("Pending"),
+    SENDING("Sending"),
+    SENT("Sent"),
+    DEAD("Dead letter");
+
+    private final String description;
+
+    EmailStatus(String description) {
+        this.description = description;
+    }
+}
@@ -0,0 +1,48 @@
+package com.ticketmanager.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Progress of a background maintenance job. lastProcessedId is the keyset cursor a resumed run continues from.
+@Entity
+@Table(name = "job_runs", indexes = {
+        @Index(name = "idx_job_runs_name_started", columnList = "job_name, started_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false)
+    private String jobName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobStatus status;
+
+    @Builder.Default
+    private long processedCount = 0;
+
+    @Builder.Default
+    private long lastProcessedId = 0;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime finishedAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String error;
+}
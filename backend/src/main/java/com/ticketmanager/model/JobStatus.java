@@ -0,0 +1,17 @@
+package com.ticketmanager.model;
+
+import lombok.Getter;
+
+@Getter
+public enum JobStatus {
+    RUNNING("Running"),
+    COMPLETED("Completed"),
+    FAILED("Failed"),
+    INTERRUPTED("Interrupted");
+
+    private final String description;
+
+    JobStatus(String description) {
+        this.description = description;
+    }
+}
@@ -10,7 +10,10 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_recipient_unread", columnList = "recipient_id, is_read, created_at, id"),
+        @Index(name = "idx_notifications_read_created", columnList = "is_read, created_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
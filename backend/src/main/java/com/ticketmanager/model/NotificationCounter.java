@@ -0,0 +1,24 @@
+package com.ticketmanager.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Unread notification count per user, maintained on create and mark-read so the badge doesn't need a COUNT(*)
+@Entity
+@Table(name = "notification_counters")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+}
@@ -10,6 +10,7 @@ import lombok.ToString;
 
 import java.util.ArrayList;
 import java.util.List;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.envers.Audited;
 
 @Data
@@ -19,6 +20,7 @@ import org.hibernate.envers.Audited;
 @AllArgsConstructor
 @Builder
 @Audited
+@BatchSize(size = 50)
 public class Team {
 
     @Id
@@ -43,6 +45,7 @@ public class Team {
     private User leader;
 
     @ManyToMany(mappedBy = "teams")
+    @BatchSize(size = 50)
     @Builder.Default
     @com.fasterxml.jackson.annotation.JsonIgnoreProperties("teams")
     @EqualsAndHashCode.Exclude
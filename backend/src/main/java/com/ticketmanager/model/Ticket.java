@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.envers.Audited;
@@ -15,7 +16,22 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "tickets")
+@NamedEntityGraph(name = Ticket.LIST_GRAPH, attributeNodes = {
+        @NamedAttributeNode("createdBy"),
+        @NamedAttributeNode("assignedTo"),
+        @NamedAttributeNode("assignedTeam")
+})
+@NamedEntityGraph(name = Ticket.DETAIL_GRAPH, attributeNodes = {
+        @NamedAttributeNode("createdBy"),
+        @NamedAttributeNode("assignedTo"),
+        @NamedAttributeNode("assignedTeam"),
+        @NamedAttributeNode(value = "actions", subgraph = "actions")
+}, subgraphs = @NamedSubgraph(name = "actions", attributeNodes = @NamedAttributeNode("actor")))
+@Table(name = "tickets", indexes = {
+        @Index(name = "idx_tickets_created_at_id", columnList = "created_at, id"),
+        // Search index refresh
+        @Index(name = "idx_tickets_updated_at", columnList = "updated_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -23,6 +39,9 @@ import java.util.List;
 @Audited
 public class Ticket {
 
+    public static final String LIST_GRAPH = "Ticket.list";
+    public static final String DETAIL_GRAPH = "Ticket.detail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -63,7 +82,8 @@ public class Ticket {
     @com.fasterxml.jackson.annotation.JsonIgnoreProperties({ "members", "leader" })
     private Team assignedTeam;
 
-    @OneToMany(mappedBy = "ticket", cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "ticket", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @Builder.Default
     private List<TicketAction> actions = new ArrayList<>();
 
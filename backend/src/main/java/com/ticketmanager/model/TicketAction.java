@@ -13,7 +13,10 @@ import java.time.LocalDateTime;
 import org.hibernate.envers.Audited;
 
 @Entity
-@Table(name = "ticket_actions")
+@Table(name = "ticket_actions", indexes = {
+        // Search index refresh
+        @Index(name = "idx_ticket_actions_timestamp", columnList = "timestamp")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,41 @@
+package com.ticketmanager.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Rollup of tickets by creation day, assigned team and current status.
+// team_id is 0 for tickets without a team so the unique key can drive upserts (MySQL allows duplicate NULLs).
+@Entity
+@Table(name = "ticket_daily_stats", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_ticket_daily_stats", columnNames = { "stat_date", "team_id", "status" })
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketDailyStat {
+
+    public static final long NO_TEAM = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(name = "team_id", nullable = false)
+    private Long teamId;
+
+    @Enumerated(EnumType.ORDINAL)
+    @Column(nullable = false)
+    private TicketStatus status;
+
+    @Column(nullable = false)
+    private long ticketCount;
+}
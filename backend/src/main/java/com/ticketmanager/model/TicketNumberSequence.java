@@ -0,0 +1,22 @@
+package com.ticketmanager.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// High-water mark of ticket numbers reserved per year. Nodes reserve blocks by advancing next_value.
+@Entity
+@Table(name = "ticket_number_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketNumberSequence {
+
+    @Id
+    @Column(name = "seq_year")
+    private Integer year;
+
+    @Column(name = "next_value", nullable = false)
+    private long nextValue;
+}
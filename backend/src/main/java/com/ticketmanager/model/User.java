@@ -2,6 +2,7 @@ package com.ticketmanager.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.envers.Audited;
 
 @Entity
@@ -11,6 +12,7 @@ import org.hibernate.envers.Audited;
 @NoArgsConstructor
 @AllArgsConstructor
 @Audited
+@BatchSize(size = 50)
 public class User {
 
     @Id
@@ -36,7 +38,13 @@ public class User {
     @Builder.Default
     private String preferredLanguage = "pt-BR";
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    // Null means IMMEDIATE, which keeps existing rows and partial updates on per-event emails
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private EmailDelivery emailDelivery;
+
+    @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @JoinTable(name = "user_teams", joinColumns = @JoinColumn(name = "user_id"), inverseJoinColumns = @JoinColumn(name = "team_id"))
     @com.fasterxml.jackson.annotation.JsonIgnoreProperties({ "members", "leader" })
     @Builder.Default
@@ -0,0 +1,24 @@
+package com.ticketmanager.repository;
+
+import com.ticketmanager.model.JobRun;
+import com.ticketmanager.model.JobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+
+    Optional<JobRun> findTopByJobNameOrderByStartedAtDesc(String jobName);
+
+    @Modifying
+    @Query("UPDATE JobRun r SET r.status = :interrupted WHERE r.jobName = :jobName AND r.status = :running "
+            + "AND r.updatedAt < :staleBefore")
+    int markStaleRunsInterrupted(@Param("jobName") String jobName, @Param("running") JobStatus running,
+            @Param("interrupted") JobStatus interrupted, @Param("staleBefore") LocalDateTime staleBefore);
+}
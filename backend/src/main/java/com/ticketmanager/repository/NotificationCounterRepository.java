@@ -0,0 +1,28 @@
+package com.ticketmanager.repository;
+
+import com.ticketmanager.model.NotificationCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface NotificationCounterRepository extends JpaRepository<NotificationCounter, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO notification_counters (user_id, unread_count) VALUES (:userId, GREATEST(:delta, 0)) "
+            + "ON DUPLICATE KEY UPDATE unread_count = GREATEST(unread_count + :delta, 0)", nativeQuery = true)
+    void increment(@Param("userId") Long userId, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "INSERT INTO notification_counters (user_id, unread_count) "
+            + "SELECT recipient_id, COUNT(*) FROM notifications WHERE is_read = false GROUP BY recipient_id",
+            nativeQuery = true)
+    int rebuildFromNotifications();
+
+    @Query("SELECT c.unreadCount FROM NotificationCounter c WHERE c.userId = :userId")
+    Optional<Long> findUnreadCount(@Param("userId") Long userId);
+}
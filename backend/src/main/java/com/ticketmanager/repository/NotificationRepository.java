@@ -1,13 +1,51 @@
 package com.ticketmanager.repository;
 
 import com.ticketmanager.model.Notification;
-import com.ticketmanager.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
-    List<Notification> findByRecipientAndReadFalseOrderByCreatedAtDesc(User recipient);
+    List<Notification> findByRecipientIdAndReadFalseAndIdGreaterThanOrderByIdAsc(Long recipientId, Long id,
+            Limit limit);
+
+    @Query("SELECT n FROM Notification n JOIN FETCH n.recipient LEFT JOIN FETCH n.ticket WHERE n.recipient.id = :recipientId "
+            + "AND n.read = false ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findUnread(@Param("recipientId") Long recipientId, Limit limit);
+
+    @Query("SELECT n FROM Notification n JOIN FETCH n.recipient LEFT JOIN FETCH n.ticket WHERE n.recipient.id = :recipientId "
+            + "AND n.read = false AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) "
+            + "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findUnreadAfter(@Param("recipientId") Long recipientId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    // Recent unread notifications of connected users, for pushing what other instances created
+    @Query("SELECT n FROM Notification n JOIN FETCH n.recipient LEFT JOIN FETCH n.ticket "
+            + "WHERE n.recipient.id IN :recipientIds AND n.read = false AND n.createdAt >= :since ORDER BY n.id")
+    List<Notification> findUnreadSince(@Param("recipientIds") Collection<Long> recipientIds,
+            @Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.id = :id AND n.recipient.id = :recipientId "
+            + "AND n.read = false")
+    int markRead(@Param("id") Long id, @Param("recipientId") Long recipientId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.recipient.id = :recipientId AND n.read = false")
+    int markAllRead(@Param("recipientId") Long recipientId);
+
+    // Everything the client has paged through: the cursor row and every row listed before it
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.recipient.id = :recipientId AND n.read = false "
+            + "AND (n.createdAt > :createdAt OR (n.createdAt = :createdAt AND n.id >= :id))")
+    int markReadUpTo(@Param("recipientId") Long recipientId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id);
 }
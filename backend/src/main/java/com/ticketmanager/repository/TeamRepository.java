@@ -9,4 +9,7 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
     java.util.List<Team> findByActiveTrue();
 
     java.util.List<Team> findByLeader(com.ticketmanager.model.User leader);
+
+    @org.springframework.data.jpa.repository.Query("SELECT t.id FROM Team t WHERE t.leader.id = :userId")
+    java.util.List<Long> findIdsByLeaderId(@org.springframework.data.repository.query.Param("userId") Long userId);
 }
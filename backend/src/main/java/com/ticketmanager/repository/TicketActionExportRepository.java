@@ -0,0 +1,13 @@
+package com.ticketmanager.repository;
+
+import com.ticketmanager.dto.TicketActionExportRow;
+import com.ticketmanager.model.Ticket;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+public interface TicketActionExportRepository {
+
+    // Actions of the tickets matching spec, ordered by ticket and action id; consume inside a transaction and close
+    Stream<TicketActionExportRow> streamActionRows(Specification<Ticket> spec);
+}
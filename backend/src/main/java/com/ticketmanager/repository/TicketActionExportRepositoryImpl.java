@@ -0,0 +1,53 @@
+package com.ticketmanager.repository;
+
+import com.ticketmanager.dto.TicketActionExportRow;
+import com.ticketmanager.model.Ticket;
+import com.ticketmanager.model.TicketAction;
+import com.ticketmanager.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+public class TicketActionExportRepositoryImpl implements TicketActionExportRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<TicketActionExportRow> streamActionRows(Specification<Ticket> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TicketActionExportRow> query = criteriaBuilder.createQuery(TicketActionExportRow.class);
+        // The ticket is the root so the ticket filters apply to the query that owns it; its actions are joined
+        Root<Ticket> ticket = query.from(Ticket.class);
+        Join<Ticket, TicketAction> action = ticket.join("actions");
+        Join<TicketAction, User> actor = action.join("actor");
+
+        query.select(criteriaBuilder.construct(TicketActionExportRow.class,
+                ticket.get("id"),
+                ticket.get("ticketNumber"),
+                action.get("id"),
+                action.get("timestamp"),
+                actor.get("id"),
+                actor.get("name"),
+                action.get("description")));
+
+        Predicate predicate = spec.toPredicate(ticket, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(criteriaBuilder.asc(ticket.get("id")), criteriaBuilder.asc(action.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, Integer.MIN_VALUE)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
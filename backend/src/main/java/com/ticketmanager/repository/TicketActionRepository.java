@@ -5,5 +5,5 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface TicketActionRepository extends JpaRepository<TicketAction, Long> {
+public interface TicketActionRepository extends JpaRepository<TicketAction, Long>, TicketActionExportRepository {
 }
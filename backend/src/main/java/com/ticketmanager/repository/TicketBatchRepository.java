@@ -0,0 +1,144 @@
+package com.ticketmanager.repository;
+
+import com.ticketmanager.model.EmailDigestEntry;
+import com.ticketmanager.model.EmailOutboxMessage;
+import com.ticketmanager.model.EmailStatus;
+import com.ticketmanager.model.Notification;
+import com.ticketmanager.model.TicketAction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// JDBC batch writes for tables whose IDENTITY ids keep Hibernate from batching.
+// Rows written here do not get Envers audit entries.
+@Repository
+@RequiredArgsConstructor
+public class TicketBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertActions(List<TicketAction> actions) {
+        if (actions.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO ticket_actions (description, ticket_id, actor_id, `timestamp`) VALUES (?, ?, ?, ?)",
+                actions, BATCH_SIZE, (ps, action) -> {
+                    ps.setString(1, action.getDescription());
+                    ps.setLong(2, action.getTicket().getId());
+                    ps.setLong(3, action.getActor().getId());
+                    ps.setTimestamp(4, action.getTimestamp() != null ? Timestamp.valueOf(action.getTimestamp()) : now);
+                });
+    }
+
+    // Generated ids are written back so the notifications can be pushed to subscribers
+    public void insertNotifications(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < notifications.size(); from += BATCH_SIZE) {
+            List<Notification> batch = notifications.subList(from, Math.min(from + BATCH_SIZE, notifications.size()));
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(
+                    "INSERT INTO notifications (recipient_id, message, is_read, ticket_id, created_at) VALUES (?, ?, ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS), new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Notification notification = batch.get(i);
+                            ps.setLong(1, notification.getRecipient().getId());
+                            ps.setString(2, notification.getMessage());
+                            ps.setBoolean(3, notification.isRead());
+                            if (notification.getTicket() != null) {
+                                ps.setLong(4, notification.getTicket().getId());
+                            } else {
+                                ps.setNull(4, java.sql.Types.BIGINT);
+                            }
+                            ps.setTimestamp(5, notification.getCreatedAt() != null
+                                    ? Timestamp.valueOf(notification.getCreatedAt())
+                                    : now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    }, keyHolder);
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < batch.size() && i < keys.size(); i++) {
+                Object key = keys.get(i).values().stream().findFirst().orElse(null);
+                if (key instanceof Number id) {
+                    batch.get(i).setId(id.longValue());
+                }
+            }
+        }
+    }
+
+    // In user id order, so two fan-outs with overlapping recipients lock the counter rows in the same order
+    // instead of deadlocking
+    public void incrementUnreadCounts(Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO notification_counters (user_id, unread_count) VALUES (?, ?) "
+                        + "ON DUPLICATE KEY UPDATE unread_count = unread_count + ?",
+                deltas.entrySet().stream().sorted(Map.Entry.comparingByKey()).toList(), BATCH_SIZE, (ps, delta) -> {
+                    ps.setLong(1, delta.getKey());
+                    ps.setLong(2, delta.getValue());
+                    ps.setLong(3, delta.getValue());
+                });
+    }
+
+    public void insertEmails(List<EmailOutboxMessage> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO email_outbox (recipient, subject, body, status, attempts, next_attempt_at, created_at) "
+                        + "VALUES (?, ?, ?, ?, 0, ?, ?)",
+                emails, BATCH_SIZE, (ps, email) -> {
+                    ps.setString(1, email.getRecipient());
+                    ps.setString(2, email.getSubject());
+                    ps.setString(3, email.getBody());
+                    ps.setString(4, EmailStatus.PENDING.name());
+                    ps.setTimestamp(5, now);
+                    ps.setTimestamp(6, now);
+                });
+    }
+
+    public void insertDigestEntries(List<EmailDigestEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO email_digest_entries (recipient_id, type, ticket_id, ticket_title, detail, actor_name, "
+                        + "created_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                entries, BATCH_SIZE, (ps, entry) -> {
+                    ps.setLong(1, entry.getRecipientId());
+                    ps.setString(2, entry.getType().name());
+                    ps.setLong(3, entry.getTicketId());
+                    ps.setString(4, entry.getTicketTitle());
+                    ps.setString(5, entry.getDetail());
+                    ps.setString(6, entry.getActorName());
+                    ps.setTimestamp(7, now);
+                });
+    }
+}
@@ -0,0 +1,32 @@
+package com.ticketmanager.repository;
+
+import com.ticketmanager.model.TicketDailyStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TicketDailyStatRepository extends JpaRepository<TicketDailyStat, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO ticket_daily_stats (stat_date, team_id, status, ticket_count) "
+            + "SELECT DATE(created_at), COALESCE(assigned_team_id, 0), status, COUNT(*) FROM tickets "
+            + "WHERE created_at IS NOT NULL AND status IS NOT NULL "
+            + "GROUP BY DATE(created_at), COALESCE(assigned_team_id, 0), status", nativeQuery = true)
+    int rebuildFromTickets();
+
+    @Query("SELECT s.status, SUM(s.ticketCount) FROM TicketDailyStat s "
+            + "WHERE s.statDate BETWEEN :from AND :to GROUP BY s.status")
+    List<Object[]> sumByStatus(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT s.status, SUM(s.ticketCount) FROM TicketDailyStat s "
+            + "WHERE s.statDate BETWEEN :from AND :to AND s.teamId IN :teamIds GROUP BY s.status")
+    List<Object[]> sumByStatusForTeams(@Param("from") LocalDate from, @Param("to") LocalDate to,
+            @Param("teamIds") Collection<Long> teamIds);
+}
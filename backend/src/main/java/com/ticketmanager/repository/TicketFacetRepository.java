@@ -0,0 +1,13 @@
+package com.ticketmanager.repository;
+
+import com.ticketmanager.model.Ticket;
+import jakarta.persistence.Tuple;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface TicketFacetRepository {
+
+    // One row per (status, priority, assignedTeamId, assignedToId) combination with its ticket count
+    List<Tuple> countFacets(Specification<Ticket> spec);
+}
@@ -0,0 +1,48 @@
+package com.ticketmanager.repository;
+
+import com.ticketmanager.model.Ticket;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public class TicketFacetRepositoryImpl implements TicketFacetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Tuple> countFacets(Specification<Ticket> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Ticket> root = query.from(Ticket.class);
+
+        // Selecting the FK ids directly keeps this a single-table GROUP BY without joins
+        Path<Object> status = root.get("status");
+        Path<Object> priority = root.get("priority");
+        Path<Object> teamId = root.get("assignedTeam").get("id");
+        Path<Object> assigneeId = root.get("assignedTo").get("id");
+
+        query.multiselect(
+                status.alias("status"),
+                priority.alias("priority"),
+                teamId.alias("teamId"),
+                assigneeId.alias("assigneeId"),
+                criteriaBuilder.count(root).alias("total"));
+
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(status, priority, teamId, assigneeId);
+
+        return entityManager.createQuery(query).getResultList();
+    }
+}
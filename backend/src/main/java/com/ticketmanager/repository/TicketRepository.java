@@ -1,13 +1,28 @@
 package com.ticketmanager.repository;
 
 import com.ticketmanager.model.Ticket;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface TicketRepository extends JpaRepository<Ticket, Long>, JpaSpecificationExecutor<Ticket> {
+public interface TicketRepository extends JpaRepository<Ticket, Long>, JpaSpecificationExecutor<Ticket>,
+        TicketFacetRepository, TicketSummaryRepository {
     java.util.Optional<Ticket> findTopByTicketNumberStartingWithOrderByTicketNumberDesc(String prefix);
 
-    java.util.List<Ticket> findByAssignedToIsNullAndStatusNot(com.ticketmanager.model.TicketStatus status);
+    // List path: creator, assignee and team come back in the page query instead of one select per row
+    @Override
+    @EntityGraph(Ticket.LIST_GRAPH)
+    Page<Ticket> findAll(Specification<Ticket> spec, Pageable pageable);
+
+    @EntityGraph(Ticket.LIST_GRAPH)
+    java.util.List<Ticket> findByIdIn(java.util.Collection<Long> ids);
+
+    // Detail path: also pulls the action log and its actors in the same query
+    @EntityGraph(Ticket.DETAIL_GRAPH)
+    java.util.Optional<Ticket> findDetailedById(Long id);
 }
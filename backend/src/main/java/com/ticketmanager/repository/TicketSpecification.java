@@ -5,6 +5,7 @@ import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -66,4 +67,17 @@ public class TicketSpecification {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    // Keyset predicate for (createdAt DESC, id DESC) ordering: rows strictly after the cursor
+    public static Specification<Ticket> seekAfter(LocalDateTime createdAt, Long id) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.or(
+                criteriaBuilder.lessThan(root.get("createdAt"), createdAt),
+                criteriaBuilder.and(
+                        criteriaBuilder.equal(root.get("createdAt"), createdAt),
+                        criteriaBuilder.lessThan(root.get("id"), id)));
+    }
+
+    public static Specification<Ticket> idIn(java.util.Collection<Long> ids) {
+        return (root, query, criteriaBuilder) -> root.get("id").in(ids);
+    }
 }
@@ -0,0 +1,17 @@
+package com.ticketmanager.repository;
+
+import com.ticketmanager.dto.TicketSummary;
+import com.ticketmanager.model.Ticket;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+public interface TicketSummaryRepository {
+
+    Page<TicketSummary> findSummaries(Specification<Ticket> spec, Pageable pageable);
+
+    // Forward-only stream ordered by id; must be consumed inside a transaction and closed
+    Stream<TicketSummary> streamSummaries(Specification<Ticket> spec);
+}
@@ -0,0 +1,112 @@
+package com.ticketmanager.repository;
+
+import com.ticketmanager.dto.TicketSummary;
+import com.ticketmanager.model.Team;
+import com.ticketmanager.model.Ticket;
+import com.ticketmanager.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public class TicketSummaryRepositoryImpl implements TicketSummaryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<TicketSummary> findSummaries(Specification<Ticket> spec, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TicketSummary> query = criteriaBuilder.createQuery(TicketSummary.class);
+        Root<Ticket> root = selectSummary(spec, query, criteriaBuilder);
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+        }
+
+        TypedQuery<TicketSummary> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<TicketSummary> content = typedQuery.getResultList();
+
+        // The count query only runs when the page size and content can't tell the total already
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public Stream<TicketSummary> streamSummaries(Specification<Ticket> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TicketSummary> query = criteriaBuilder.createQuery(TicketSummary.class);
+        Root<Ticket> root = selectSummary(spec, query, criteriaBuilder);
+        query.orderBy(criteriaBuilder.asc(root.get("id")));
+
+        // DTO rows are not managed, so the persistence context stays empty however many rows are read.
+        // Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of buffering the result set.
+        return entityManager.createQuery(query)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, Integer.MIN_VALUE)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private Root<Ticket> selectSummary(Specification<Ticket> spec, CriteriaQuery<TicketSummary> query,
+            CriteriaBuilder criteriaBuilder) {
+        Root<Ticket> root = query.from(Ticket.class);
+        Join<Ticket, User> createdBy = root.join("createdBy", JoinType.LEFT);
+        Join<Ticket, User> assignedTo = root.join("assignedTo", JoinType.LEFT);
+        Join<Ticket, Team> assignedTeam = root.join("assignedTeam", JoinType.LEFT);
+
+        query.select(criteriaBuilder.construct(TicketSummary.class,
+                root.get("id"),
+                root.get("ticketNumber"),
+                root.get("title"),
+                root.get("status"),
+                root.get("priority"),
+                root.get("estimatedTime"),
+                root.get("estimatedFinishDate"),
+                root.get("statusUpdatedAt"),
+                root.get("createdAt"),
+                root.get("updatedAt"),
+                createdBy.get("id"),
+                createdBy.get("name"),
+                createdBy.get("avatarUrl"),
+                assignedTo.get("id"),
+                assignedTo.get("name"),
+                assignedTo.get("avatarUrl"),
+                assignedTeam.get("id"),
+                assignedTeam.get("name")));
+
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return root;
+    }
+
+    private long count(Specification<Ticket> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Ticket> root = query.from(Ticket.class);
+        query.select(criteriaBuilder.count(root));
+
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -11,4 +11,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     java.util.List<User> findByActiveTrue();
+
+    @org.springframework.data.jpa.repository.Query("SELECT t.id FROM User u JOIN u.teams t WHERE u.id = :userId")
+    java.util.List<Long> findTeamIdsByUserId(@org.springframework.data.repository.query.Param("userId") Long userId);
 }
@@ -0,0 +1,139 @@
+package com.ticketmanager.service;
+
+import com.ticketmanager.model.User;
+import com.ticketmanager.repository.UserRepository;
+import lombok.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Resolves the authenticated user and the teams they can act for (member or leader). The identity is kept per
+// request and in a small TTL cache keyed by email, so permission checks don't query the users table on every call;
+// team sets come from the membership index.
+@Service
+public class CurrentUserResolver {
+
+    private static final String REQUEST_ATTRIBUTE = CurrentUserResolver.class.getName() + ".currentUser";
+
+    private final UserRepository userRepository;
+    private final TeamMembershipIndex teamMembershipIndex;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    // Access-ordered, so the least recently used entry is dropped when the cache is full
+    private final Map<String, CachedUser> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    public CurrentUserResolver(UserRepository userRepository, TeamMembershipIndex teamMembershipIndex,
+            @org.springframework.beans.factory.annotation.Value("${ticketmanager.current-user-cache.max-size:1000}") int maxSize,
+            @org.springframework.beans.factory.annotation.Value("${ticketmanager.current-user-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.teamMembershipIndex = teamMembershipIndex;
+        this.maxSize = Math.max(maxSize, 1);
+        this.ttlMillis = Math.max(ttlSeconds, 0) * 1000;
+    }
+
+    public CurrentUser resolve() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof CurrentUser user) {
+            return user;
+        }
+
+        CurrentUser user = resolve(currentEmail());
+        if (attributes != null) {
+            attributes.setAttribute(REQUEST_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    public CurrentUser resolve(String email) {
+        long now = System.currentTimeMillis();
+        CachedUser cached;
+        synchronized (cache) {
+            cached = cache.get(email);
+        }
+        if (cached == null || cached.expiresAt() <= now) {
+            User user = userRepository.findByEmail(email)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            cached = new CachedUser(user.getId(), user.getEmail(), user.getRole(), now + ttlMillis);
+            synchronized (cache) {
+                cache.put(email, cached);
+                if (cache.size() > maxSize) {
+                    cache.remove(cache.keySet().iterator().next());
+                }
+            }
+        }
+        return new CurrentUser(cached.id(), cached.email(), cached.role(), teamMembershipIndex.getTeams(cached.id()));
+    }
+
+    // The managed entity, for use as actor or creator. Lookups by id are served from the persistence context
+    // after the first one, and resolve() has usually loaded it already.
+    public User getUser() {
+        return userRepository.findById(resolve().getId())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    public void invalidate(String email) {
+        if (email == null) {
+            return;
+        }
+        evict(email);
+        // Evict again once the change is visible, so a concurrent request can't cache the old state
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(email);
+                }
+            });
+        }
+    }
+
+    private void evict(String email) {
+        synchronized (cache) {
+            cache.remove(email);
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof CurrentUser user
+                && email.equals(user.getEmail())) {
+            attributes.removeAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private String currentEmail() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof OAuth2User oauth2User)) {
+            throw new RuntimeException("Not authenticated");
+        }
+        return oauth2User.getAttribute("email");
+    }
+
+    @Value
+    public static class CurrentUser {
+        Long id;
+        String email;
+        User.Role role;
+        TeamMembershipIndex.IdSet teams;
+
+        public List<Long> getTeamIds() {
+            return teams.getIds();
+        }
+
+        public boolean isMemberOf(Long teamId) {
+            return teams.contains(teamId);
+        }
+    }
+
+    private record CachedUser(Long id, String email, User.Role role, long expiresAt) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.ticketmanager.service;
+
+import com.ticketmanager.model.EmailDigestEntry;
+import com.ticketmanager.model.User;
+import com.ticketmanager.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Sends one email per window to each user on digest delivery, covering every event buffered since the last one.
+// A recipient's entries are locked, rendered into the outbox and deleted in one transaction, so an event is either
+// still buffered or queued for sending, never lost or sent twice. Entries left by a restart go out on the first
+// flush after startup.
+@Service
+@Slf4j
+public class EmailDigestService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
+    private final int maxEntries;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public EmailDigestService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            UserRepository userRepository, EmailService emailService, EmailOutboxService emailOutboxService,
+            @Value("${ticketmanager.email.digest.max-entries:200}") int maxEntries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userRepository = userRepository;
+        this.emailService = emailService;
+        this.emailOutboxService = emailOutboxService;
+        this.maxEntries = Math.max(maxEntries, 1);
+    }
+
+    @Scheduled(fixedDelayString = "${ticketmanager.email.digest.window-minutes:15}", timeUnit = TimeUnit.MINUTES)
+    public void flush() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<Long> recipientIds = jdbcTemplate.queryForList(
+                    "SELECT DISTINCT recipient_id FROM email_digest_entries", Long.class);
+            int sent = 0;
+            for (Long recipientId : recipientIds) {
+                try {
+                    if (Boolean.TRUE.equals(transactionTemplate.execute(status -> flush(recipientId)))) {
+                        sent++;
+                    }
+                } catch (RuntimeException e) {
+                    // Entries stay buffered and are retried on the next window
+                    log.error("Failed to send the email digest for user {}", recipientId, e);
+                }
+            }
+            if (sent > 0) {
+                log.info("Queued {} email digests", sent);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private boolean flush(Long recipientId) {
+        // FOR UPDATE keeps a second instance from sending the same entries
+        List<EmailDigestEntry> entries = jdbcTemplate.query(
+                "SELECT id, type, ticket_id, ticket_title, detail, actor_name, created_at FROM email_digest_entries "
+                        + "WHERE recipient_id = ? ORDER BY id LIMIT ? FOR UPDATE",
+                (rs, rowNum) -> EmailDigestEntry.builder()
+                        .id(rs.getLong("id"))
+                        .recipientId(recipientId)
+                        .type(EmailDigestEntry.Type.valueOf(rs.getString("type")))
+                        .ticketId(rs.getLong("ticket_id"))
+                        .ticketTitle(rs.getString("ticket_title"))
+                        .detail(rs.getString("detail"))
+                        .actorName(rs.getString("actor_name"))
+                        .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                        .build(),
+                recipientId, maxEntries);
+        if (entries.isEmpty()) {
+            return false;
+        }
+
+        long lastId = entries.get(entries.size() - 1).getId();
+        User recipient = userRepository.findById(recipientId).orElse(null);
+        boolean send = recipient != null && recipient.isActive();
+        if (send) {
+            emailOutboxService.enqueue(List.of(emailService.renderDigestEmail(recipient, entries)));
+        }
+        // Anything past max-entries stays for the next window
+        jdbcTemplate.update("DELETE FROM email_digest_entries WHERE recipient_id = ? AND id <= ?", recipientId,
+                lastId);
+        return send;
+    }
+}
@@ -0,0 +1,334 @@
+package com.ticketmanager.service;
+
+import com.ticketmanager.model.EmailOutboxMessage;
+import com.ticketmanager.model.EmailStatus;
+import com.ticketmanager.repository.TicketBatchRepository;
+import com.ticketmanager.util.ThreadUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Transactional outbox for email. Messages are inserted with the change that triggered them and a bounded pool of
+// sender threads drains the table after commit, so SMTP latency never holds a request or its transaction.
+// Delivery is at-least-once: a claim that is not completed within the lease (e.g. after a crash) is retried.
+@Service
+@Slf4j
+public class EmailOutboxService {
+
+    private final TicketBatchRepository ticketBatchRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
+    private final String fromEmail;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final int workers;
+    private final int sendBatchSize;
+
+    private final ThreadPoolExecutor senders;
+    private final ExecutorService drainer;
+    private final AtomicBoolean drainRequested = new AtomicBoolean(false);
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong deadLetters = new AtomicLong();
+    private final Counter deadLetterCounter;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Timer deliveryTimer;
+    private final DistributionSummary sendBatchSizes;
+
+    public EmailOutboxService(TicketBatchRepository ticketBatchRepository, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, JavaMailSender mailSender, MeterRegistry meterRegistry,
+            @Value("${spring.mail.username}") String fromEmail,
+            @Value("${ticketmanager.email.outbox.workers:4}") int workers,
+            @Value("${ticketmanager.email.outbox.queue-capacity:200}") int queueCapacity,
+            @Value("${ticketmanager.email.outbox.send-batch-size:50}") int sendBatchSize,
+            @Value("${ticketmanager.email.outbox.max-attempts:6}") int maxAttempts,
+            @Value("${ticketmanager.email.outbox.backoff-seconds:30}") long backoffSeconds,
+            @Value("${ticketmanager.email.outbox.max-backoff-seconds:3600}") long maxBackoffSeconds,
+            @Value("${ticketmanager.email.outbox.lease-seconds:300}") long leaseSeconds,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.ticketBatchRepository = ticketBatchRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mailSender = mailSender;
+        this.meterRegistry = meterRegistry;
+        this.fromEmail = fromEmail;
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.backoff = Duration.ofSeconds(Math.max(backoffSeconds, 1));
+        this.maxBackoff = Duration.ofSeconds(Math.max(maxBackoffSeconds, backoffSeconds));
+        this.lease = Duration.ofSeconds(Math.max(leaseSeconds, 1));
+        this.workers = Math.max(workers, 1);
+        this.sendBatchSize = Math.max(sendBatchSize, 1);
+
+        // With virtual threads the pool no longer saves threads; workers still caps concurrent SMTP connections
+        this.senders = new ThreadPoolExecutor(this.workers, this.workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                ThreadUtils.numberedFactory("email-sender-", virtualThreads));
+        this.drainer = Executors.newSingleThreadExecutor(ThreadUtils.factory("email-outbox-drain", virtualThreads));
+
+        Gauge.builder("ticketmanager.email.outbox.depth", depth, AtomicLong::get)
+                .description("Emails waiting to be sent (pending or claimed)")
+                .register(meterRegistry);
+        Gauge.builder("ticketmanager.email.outbox.dead", deadLetters, AtomicLong::get)
+                .description("Emails that exhausted their retries")
+                .register(meterRegistry);
+        Gauge.builder("ticketmanager.email.dispatcher.queue", senders, executor -> executor.getQueue().size())
+                .description("Claimed email chunks waiting for a sender thread")
+                .register(meterRegistry);
+        this.deadLetterCounter = Counter.builder("ticketmanager.email.dead.letters")
+                .description("Emails moved to the dead letter state")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("ticketmanager.email.sent")
+                .description("Emails delivered to the SMTP server")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("ticketmanager.email.failed")
+                .description("Failed send attempts, each retried until max-attempts")
+                .register(meterRegistry);
+        this.deliveryTimer = Timer.builder("ticketmanager.email.delivery")
+                .description("Time from enqueue to delivery, including waiting and retries")
+                .register(meterRegistry);
+        this.sendBatchSizes = DistributionSummary.builder("ticketmanager.email.send.batch")
+                .description("Emails sent per SMTP connection")
+                .register(meterRegistry);
+    }
+
+    // Call inside the transaction that makes the change; sending starts once it commits
+    public void enqueue(List<EmailOutboxMessage> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+        ticketBatchRepository.insertEmails(emails);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    requestDrain();
+                }
+            });
+        } else {
+            requestDrain();
+        }
+    }
+
+    // Picks up retries whose backoff has elapsed and anything left behind by a restart
+    @Scheduled(fixedDelayString = "${ticketmanager.email.outbox.poll-ms:15000}")
+    public void poll() {
+        depth.set(count("status IN ('PENDING', 'SENDING')"));
+        deadLetters.set(count("status = 'DEAD'"));
+        requestDrain();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        drainer.shutdownNow();
+        senders.shutdown();
+    }
+
+    private void requestDrain() {
+        if (drainRequested.compareAndSet(false, true)) {
+            drainer.execute(() -> {
+                drainRequested.set(false);
+                drain();
+            });
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                // Only claim one chunk per idle worker. Claimed rows have to go out within the lease, or the next
+                // poll claims them again and they are sent twice, so nothing is claimed just to wait in the queue.
+                // Each finished chunk requests the next drain.
+                int idleWorkers = workers - senders.getActiveCount() - senders.getQueue().size();
+                if (idleWorkers <= 0) {
+                    return;
+                }
+                int limit = idleWorkers * sendBatchSize;
+                List<EmailOutboxMessage> claimed = claim(limit);
+                // Rows of one fan-out are inserted together and claimed in order, so each chunk is mostly one
+                // ticket's recipients and goes out over a single SMTP connection
+                for (int from = 0; from < claimed.size(); from += sendBatchSize) {
+                    List<EmailOutboxMessage> chunk = claimed.subList(from,
+                            Math.min(from + sendBatchSize, claimed.size()));
+                    senders.execute(() -> {
+                        try {
+                            send(chunk);
+                        } finally {
+                            requestDrain();
+                        }
+                    });
+                }
+                if (claimed.size() < limit) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to drain the email outbox", e);
+        }
+    }
+
+    private List<EmailOutboxMessage> claim(int limit) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            // SKIP LOCKED lets several instances drain the table without waiting on each other
+            List<EmailOutboxMessage> rows = jdbcTemplate.query(
+                    "SELECT id, recipient, subject, body, attempts, created_at FROM email_outbox "
+                            + "WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= ? "
+                            + "ORDER BY next_attempt_at LIMIT ? FOR UPDATE SKIP LOCKED",
+                    (rs, rowNum) -> EmailOutboxMessage.builder()
+                            .id(rs.getLong("id"))
+                            .recipient(rs.getString("recipient"))
+                            .subject(rs.getString("subject"))
+                            .body(rs.getString("body"))
+                            .attempts(rs.getInt("attempts"))
+                            .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                            .status(EmailStatus.SENDING)
+                            .build(),
+                    Timestamp.valueOf(now), limit);
+            if (!rows.isEmpty()) {
+                namedJdbcTemplate.update("UPDATE email_outbox SET status = 'SENDING', next_attempt_at = :lease "
+                        + "WHERE id IN (:ids)", new MapSqlParameterSource()
+                                .addValue("lease", Timestamp.valueOf(now.plus(lease)))
+                                .addValue("ids", rows.stream().map(EmailOutboxMessage::getId).toList()));
+            }
+            return rows;
+        });
+    }
+
+    private void send(List<EmailOutboxMessage> emails) {
+        Map<MimeMessage, EmailOutboxMessage> byMessage = new LinkedHashMap<>();
+        for (EmailOutboxMessage email : emails) {
+            try {
+                byMessage.put(toMimeMessage(email), email);
+            } catch (Exception e) {
+                markFailed(email, e);
+            }
+        }
+        if (byMessage.isEmpty()) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Map<Object, Exception> failures = Map.of();
+        try {
+            // One transport connection for the whole chunk
+            mailSender.send(byMessage.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            // Per-message failures; the rest were delivered. An empty map means the connection itself failed.
+            failures = e.getFailedMessages().isEmpty() ? allFailed(byMessage.keySet(), e) : e.getFailedMessages();
+        } catch (Exception e) {
+            failures = allFailed(byMessage.keySet(), e);
+        }
+        long elapsed = sample.stop(Timer.builder("ticketmanager.email.send")
+                .description("SMTP send latency per connection")
+                .tag("outcome", failures.isEmpty() ? "success" : "failure")
+                .register(meterRegistry));
+        sendBatchSizes.record(byMessage.size());
+
+        List<Long> sent = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<MimeMessage, EmailOutboxMessage> entry : byMessage.entrySet()) {
+            Exception failure = failures.get(entry.getKey());
+            if (failure != null) {
+                markFailed(entry.getValue(), failure);
+            } else {
+                sent.add(entry.getValue().getId());
+                if (entry.getValue().getCreatedAt() != null) {
+                    deliveryTimer.record(Duration.between(entry.getValue().getCreatedAt(), now));
+                }
+            }
+        }
+        if (!sent.isEmpty()) {
+            namedJdbcTemplate.update("UPDATE email_outbox SET status = 'SENT', attempts = attempts + 1, "
+                    + "sent_at = :now, last_error = NULL WHERE id IN (:ids)", new MapSqlParameterSource()
+                            .addValue("now", Timestamp.valueOf(now))
+                            .addValue("ids", sent));
+            sentCounter.increment(sent.size());
+            log.info("Sent {} of {} emails in {} ms", sent.size(), byMessage.size(),
+                    TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    private MimeMessage toMimeMessage(EmailOutboxMessage email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody(), true);
+        return message;
+    }
+
+    private static Map<Object, Exception> allFailed(Collection<MimeMessage> messages, Exception error) {
+        Map<Object, Exception> failures = new HashMap<>();
+        messages.forEach(message -> failures.put(message, error));
+        return failures;
+    }
+
+    private void markFailed(EmailOutboxMessage email, Exception error) {
+        failedCounter.increment();
+        int attempts = email.getAttempts() + 1;
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getName();
+        if (attempts >= maxAttempts) {
+            jdbcTemplate.update("UPDATE email_outbox SET status = 'DEAD', attempts = ?, last_error = ? WHERE id = ?",
+                    attempts, message, email.getId());
+            deadLetterCounter.increment();
+            log.error("Giving up on email {} to {} after {} attempts", email.getId(), email.getRecipient(), attempts,
+                    error);
+            return;
+        }
+        // Exponential backoff: 30s, 1m, 2m, ... capped at max-backoff-seconds
+        long delaySeconds = Math.min(backoff.getSeconds() << Math.min(attempts - 1, 20), maxBackoff.getSeconds());
+        jdbcTemplate.update("UPDATE email_outbox SET status = 'PENDING', attempts = ?, last_error = ?, "
+                + "next_attempt_at = ? WHERE id = ?", attempts, message,
+                Timestamp.valueOf(LocalDateTime.now().plusSeconds(delaySeconds)), email.getId());
+        log.warn("Failed to send email {} to {} (attempt {}), retrying in {}s: {}", email.getId(),
+                email.getRecipient(), attempts, delaySeconds, message);
+    }
+
+    private long count(String condition) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM email_outbox WHERE " + condition, Long.class);
+        return count != null ? count : 0;
+    }
+}
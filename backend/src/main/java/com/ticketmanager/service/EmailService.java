@@ -1,80 +1,122 @@
 package com.ticketmanager.service;
 
+import com.ticketmanager.model.EmailDelivery;
+import com.ticketmanager.model.EmailDigestEntry;
+import com.ticketmanager.model.EmailOutboxMessage;
 import com.ticketmanager.model.Ticket;
 import com.ticketmanager.model.TicketAction;
 import com.ticketmanager.model.User;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import com.ticketmanager.repository.TicketBatchRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
+import org.springframework.web.util.HtmlUtils;
 import org.thymeleaf.context.Context;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Renders emails while the ticket is still attached to the session and queues them in the outbox, which sends
+// them after the transaction commits. Events for users on digest delivery are buffered instead and sent by
+// EmailDigestService.
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
-    private final JavaMailSender mailSender;
-    private final TemplateEngine templateEngine;
+    // Survives HTML escaping unchanged and cannot appear in a rendered template by accident
+    private static final String MEMBER_NAME_PLACEHOLDER = "__TM_MEMBER_NAME__";
 
-    @Value("${spring.mail.username}")
-    private String fromEmail;
+    private final EmailOutboxService emailOutboxService;
+    private final TemplateEngine templateEngine;
+    private final TicketBatchRepository ticketBatchRepository;
+    private final MeterRegistry meterRegistry;
 
-    @Async
     public void sendTicketAssignedToUserEmail(Ticket ticket, User assignee) {
+        if (isDigest(assignee)) {
+            ticketBatchRepository.insertDigestEntries(List.of(
+                    digestEntry(assignee, EmailDigestEntry.Type.ASSIGNED_TO_USER, ticket, null, null)));
+            return;
+        }
         try {
             Context context = new Context();
             context.setLocale(getUserLocale(assignee));
             context.setVariable("ticket", ticket);
             context.setVariable("assignee", assignee);
 
-            String htmlContent = templateEngine.process("ticket-assigned-user", context);
+            String htmlContent = render("ticket-assigned-user", context);
 
-            sendHtmlEmail(assignee.getEmail(), "Ticket Assigned: #" + ticket.getId(), htmlContent);
+            emailOutboxService.enqueue(List.of(email(assignee.getEmail(), "Ticket Assigned: #" + ticket.getId(),
+                    htmlContent)));
         } catch (Exception e) {
             log.error("Failed to send ticket assignment email to user: {}", assignee.getEmail(), e);
         }
     }
 
-    @Async
     public void sendTicketAssignedToTeamEmail(Ticket ticket) {
         if (ticket.getAssignedTeam() == null)
             return;
 
-        // In a real scenario, we might email all team members or a group alias.
-        // For now, let's just log it or email the team leader if we had one.
-        // Or iterate over members:
+        List<User> immediate = new ArrayList<>();
+        List<EmailDigestEntry> digestEntries = new ArrayList<>();
         ticket.getAssignedTeam().getMembers().forEach(member -> {
-            try {
-                Context context = new Context();
-                context.setLocale(getUserLocale(member));
-                context.setVariable("ticket", ticket);
-                context.setVariable("team", ticket.getAssignedTeam());
-                context.setVariable("member", member);
-
-                String htmlContent = templateEngine.process("ticket-assigned-team", context);
+            if (isDigest(member)) {
+                digestEntries.add(digestEntry(member, EmailDigestEntry.Type.ASSIGNED_TO_TEAM, ticket,
+                        ticket.getAssignedTeam().getName(), null));
+            } else {
+                immediate.add(member);
+            }
+        });
+        emailOutboxService.enqueue(renderTeamEmails(ticket, immediate));
+        ticketBatchRepository.insertDigestEntries(digestEntries);
+    }
 
-                sendHtmlEmail(member.getEmail(), "New Ticket for Team " + ticket.getAssignedTeam().getName(),
-                        htmlContent);
+    // The body only differs by locale and member name, so render once per locale with a placeholder name
+    // and substitute each member's name into the rendered HTML
+    private List<EmailOutboxMessage> renderTeamEmails(Ticket ticket, Collection<User> members) {
+        String subject = "New Ticket for Team " + ticket.getAssignedTeam().getName();
+        Map<Locale, String> renderedByLocale = new HashMap<>();
+        List<EmailOutboxMessage> emails = new ArrayList<>();
+        members.forEach(member -> {
+            try {
+                String template = renderedByLocale.computeIfAbsent(getUserLocale(member),
+                        locale -> renderTeamTemplate(ticket, locale));
+                String name = member.getName() != null ? HtmlUtils.htmlEscape(member.getName()) : "";
+                emails.add(email(member.getEmail(), subject, template.replace(MEMBER_NAME_PLACEHOLDER, name)));
             } catch (Exception e) {
                 log.error("Failed to send team assignment email to member: {}", member.getEmail(), e);
             }
         });
+        return emails;
+    }
+
+    private String renderTeamTemplate(Ticket ticket, Locale locale) {
+        Context context = new Context();
+        context.setLocale(locale);
+        context.setVariable("ticket", ticket);
+        context.setVariable("team", ticket.getAssignedTeam());
+        context.setVariable("member", User.builder().name(MEMBER_NAME_PLACEHOLDER).build());
+        return render("ticket-assigned-team", context);
     }
 
-    @Async
     public void sendActionAddedEmail(Ticket ticket, TicketAction action) {
         User creator = ticket.getCreatedBy();
         // Don't email if the creator added the action themselves
         if (creator.getId().equals(action.getActor().getId())) {
             return;
         }
+        if (isDigest(creator)) {
+            ticketBatchRepository.insertDigestEntries(List.of(digestEntry(creator, EmailDigestEntry.Type.ACTION_ADDED,
+                    ticket, action.getDescription(), action.getActor().getName())));
+            return;
+        }
 
         try {
             Context context = new Context();
@@ -83,33 +125,72 @@ public class EmailService {
             context.setVariable("action", action);
             context.setVariable("creator", creator);
 
-            String htmlContent = templateEngine.process("ticket-action-added", context);
+            String htmlContent = render("ticket-action-added", context);
 
-            sendHtmlEmail(creator.getEmail(), "New Action on Ticket #" + ticket.getId(), htmlContent);
+            emailOutboxService.enqueue(List.of(email(creator.getEmail(), "New Action on Ticket #" + ticket.getId(),
+                    htmlContent)));
         } catch (Exception e) {
             log.error("Failed to send action added email to creator: {}", creator.getEmail(), e);
         }
     }
 
-    private void sendHtmlEmail(String to, String subject, String htmlContent) throws MessagingException {
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+    // One email listing every buffered event of the recipient, oldest first
+    public EmailOutboxMessage renderDigestEmail(User recipient, List<EmailDigestEntry> entries) {
+        Context context = new Context();
+        context.setLocale(getUserLocale(recipient));
+        context.setVariable("recipient", recipient);
+        context.setVariable("entries", entries);
+
+        String htmlContent = render("ticket-digest", context);
+        return email(recipient.getEmail(), "Ticket Manager: " + entries.size() + " ticket update(s)", htmlContent);
+    }
+
+    private String render(String template, Context context) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            String html = templateEngine.process(template, context);
+            outcome = "success";
+            return html;
+        } finally {
+            sample.stop(Timer.builder("ticketmanager.email.render")
+                    .description("Email template rendering latency")
+                    .tag("template", template)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private boolean isDigest(User user) {
+        return user.getEmailDelivery() == EmailDelivery.DIGEST;
+    }
 
-        helper.setFrom(fromEmail);
-        helper.setTo(to);
-        helper.setSubject(subject);
-        helper.setText(htmlContent, true);
+    private EmailDigestEntry digestEntry(User recipient, EmailDigestEntry.Type type, Ticket ticket, String detail,
+            String actorName) {
+        return EmailDigestEntry.builder()
+                .recipientId(recipient.getId())
+                .type(type)
+                .ticketId(ticket.getId())
+                .ticketTitle(ticket.getTitle())
+                .detail(detail)
+                .actorName(actorName)
+                .build();
+    }
 
-        mailSender.send(message);
-        log.info("Email sent to: {} with subject: {}", to, subject);
+    private EmailOutboxMessage email(String to, String subject, String htmlContent) {
+        return EmailOutboxMessage.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(htmlContent)
+                .build();
     }
 
-    private java.util.Locale getUserLocale(User user) {
+    private Locale getUserLocale(User user) {
         String lang = user.getPreferredLanguage();
         if (lang == null || lang.isEmpty()) {
             lang = "pt-BR";
         }
 
-        return java.util.Locale.forLanguageTag(lang);
+        return Locale.forLanguageTag(lang);
     }
 }
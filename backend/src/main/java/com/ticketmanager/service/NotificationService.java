@@ -1,39 +1,166 @@
 package com.ticketmanager.service;
 
+import com.ticketmanager.dto.CursorPage;
 import com.ticketmanager.model.Notification;
+import com.ticketmanager.model.Team;
 import com.ticketmanager.model.Ticket;
 import com.ticketmanager.model.User;
+import com.ticketmanager.repository.NotificationCounterRepository;
 import com.ticketmanager.repository.NotificationRepository;
+import com.ticketmanager.repository.TicketBatchRepository;
+import com.ticketmanager.repository.UserRepository;
+import com.ticketmanager.util.CursorUtils;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class NotificationService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final NotificationRepository notificationRepository;
+    private final NotificationCounterRepository notificationCounterRepository;
+    private final TicketBatchRepository ticketBatchRepository;
+    private final NotificationStreamService notificationStreamService;
+    private final TeamMembershipIndex teamMembershipIndex;
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
 
+    @Transactional
     public void createNotification(User recipient, String message, Ticket ticket) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         Notification notification = Notification.builder()
                 .recipient(recipient)
                 .message(message)
                 .ticket(ticket)
                 .build();
-        notificationRepository.save(notification);
+        Notification savedNotification = notificationRepository.save(notification);
+        notificationCounterRepository.increment(recipient.getId(), 1);
+        notificationStreamService.publishAfterCommit(List.of(savedNotification));
+        recordFanOut(sample, "single", 1);
+    }
+
+    // Writes all notifications in one JDBC batch instead of one IDENTITY insert per row
+    @Transactional
+    public void createNotifications(List<Notification> notifications) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        ticketBatchRepository.insertNotifications(notifications);
+        Map<Long, Long> unread = new HashMap<>();
+        notifications.stream()
+                .filter(notification -> !notification.isRead())
+                .forEach(notification -> unread.merge(notification.getRecipient().getId(), 1L, Long::sum));
+        ticketBatchRepository.incrementUnreadCounts(unread);
+        notificationStreamService.publishAfterCommit(notifications);
+        recordFanOut(sample, "batch", notifications.size());
+    }
+
+    private void recordFanOut(Timer.Sample sample, String kind, int recipients) {
+        sample.stop(Timer.builder("ticketmanager.notifications.fanout")
+                .description("Time to write notifications and their unread counters, excluding the commit")
+                .tag("kind", kind)
+                .register(meterRegistry));
+        DistributionSummary.builder("ticketmanager.notifications.fanout.recipients")
+                .description("Notifications written per fan-out")
+                .tag("kind", kind)
+                .register(meterRegistry)
+                .record(recipients);
+    }
+
+    // One row per team member, written as a single batch
+    public void createTeamNotifications(Team team, String message, Ticket ticket) {
+        LocalDateTime now = LocalDateTime.now();
+        createNotifications(getTeamRecipients(team.getId()).stream()
+                .map(member -> Notification.builder()
+                        .recipient(member)
+                        .message(message)
+                        .ticket(ticket)
+                        .createdAt(now)
+                        .build())
+                .toList());
     }
 
+    // Members and leader from the membership index rather than Team.members, which would load every member row.
+    // Unloaded references are enough, as a notification only writes and publishes its recipient's id.
+    public List<User> getTeamRecipients(Long teamId) {
+        return teamMembershipIndex.getMembers(teamId).getIds().stream()
+                .map(userRepository::getReferenceById)
+                .toList();
+    }
+
+    // Newest unread notifications only; older ones are reached through getUnreadPage
     public List<Notification> getUnreadNotifications(User recipient) {
-        return notificationRepository.findByRecipientAndReadFalseOrderByCreatedAtDesc(recipient);
+        return getUnreadPage(recipient.getId(), null, MAX_PAGE_SIZE).getContent();
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Notification> getUnreadPage(Long recipientId, String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        // Fetch one extra row to know whether another page exists without counting
+        List<Notification> rows;
+        if (cursor != null && !cursor.isBlank()) {
+            CursorUtils.Cursor position = CursorUtils.decode(cursor);
+            rows = notificationRepository.findUnreadAfter(recipientId, position.createdAt(), position.id(),
+                    Limit.of(limit + 1));
+        } else {
+            rows = notificationRepository.findUnread(recipientId, Limit.of(limit + 1));
+        }
+
+        boolean hasNext = rows.size() > limit;
+        List<Notification> content = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            Notification last = content.get(content.size() - 1);
+            nextCursor = CursorUtils.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(content, nextCursor, hasNext, getUnreadCount(recipientId));
+    }
+
+    public long getUnreadCount(Long recipientId) {
+        return notificationCounterRepository.findUnreadCount(recipientId).orElse(0L);
+    }
+
+    @Transactional
+    public void markAsRead(Long id, Long recipientId) {
+        if (notificationRepository.markRead(id, recipientId) > 0) {
+            notificationCounterRepository.increment(recipientId, -1);
+        }
+    }
+
+    // Marks every unread notification, or only those listed up to and including the cursor, in one statement
+    @Transactional
+    public int markAllAsRead(Long recipientId, String upToCursor) {
+        int updated;
+        if (upToCursor != null && !upToCursor.isBlank()) {
+            CursorUtils.Cursor position = CursorUtils.decode(upToCursor);
+            updated = notificationRepository.markReadUpTo(recipientId, position.createdAt(), position.id());
+        } else {
+            updated = notificationRepository.markAllRead(recipientId);
+        }
+        if (updated > 0) {
+            notificationCounterRepository.increment(recipientId, -updated);
+        }
+        return updated;
     }
 
     @Transactional
-    public void markAsRead(Long id) {
-        notificationRepository.findById(id).ifPresent(notification -> {
-            notification.setRead(true);
-            notificationRepository.save(notification);
-        });
+    public void rebuildUnreadCountsIfEmpty() {
+        if (notificationCounterRepository.count() == 0) {
+            int rows = notificationCounterRepository.rebuildFromNotifications();
+            log.info("Rebuilt unread notification counters for {} users", rows);
+        }
     }
 }
@@ -0,0 +1,218 @@
+package com.ticketmanager.service;
+
+import com.ticketmanager.dto.NotificationEvent;
+import com.ticketmanager.model.Notification;
+import com.ticketmanager.repository.NotificationRepository;
+import com.ticketmanager.util.ThreadUtils;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Server-Sent Events channel for notifications. Connections are async requests, so an idle subscriber holds no
+// servlet thread; sends and heartbeats run on a small scheduler instead of the request thread that committed.
+// Notifications committed on this instance are pushed right away. Those committed on another instance are found
+// by polling recent unread notifications of the users connected here, and pushed at most one poll interval later.
+@Service
+@Slf4j
+public class NotificationStreamService {
+
+    private static final String EVENT_NAME = "notification";
+    // Sent instead of a replay longer than REPLAY_LIMIT; the client reloads the list from /api/notifications
+    private static final String RESYNC_EVENT_NAME = "resync";
+    // Same as the largest page of the notifications endpoint
+    private static final int REPLAY_LIMIT = 100;
+    private static final int POLL_CHUNK_SIZE = 500;
+
+    private final NotificationRepository notificationRepository;
+    private final long timeoutMillis;
+    private final long heartbeatSeconds;
+    private final long pollMillis;
+    private final Duration lookback;
+    private final Map<Long, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    // Ids pushed within the lookback, with when they were pushed, so the poll doesn't send them again
+    private final Map<Long, Long> recentlyPushed = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    public NotificationStreamService(NotificationRepository notificationRepository,
+            @Value("${ticketmanager.notifications.stream-timeout-ms:1800000}") long timeoutMillis,
+            @Value("${ticketmanager.notifications.heartbeat-seconds:25}") long heartbeatSeconds,
+            @Value("${ticketmanager.notifications.poll-ms:5000}") long pollMillis,
+            @Value("${ticketmanager.notifications.poll-lookback-seconds:60}") long lookbackSeconds,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads, MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.scheduler = Executors.newScheduledThreadPool(2,
+                ThreadUtils.numberedFactory("notification-stream-", virtualThreads));
+        this.timeoutMillis = timeoutMillis;
+        this.heartbeatSeconds = Math.max(heartbeatSeconds, 1);
+        this.pollMillis = Math.max(pollMillis, 100);
+        // Covers the gap between created_at, set before the insert, and the commit that makes the row visible
+        this.lookback = Duration.ofSeconds(Math.max(lookbackSeconds, 1));
+
+        Gauge.builder("ticketmanager.notifications.stream.connections", emitters,
+                        userEmitters -> userEmitters.values().stream().mapToInt(Set::size).sum())
+                .description("Open notification SSE connections")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleAtFixedRate(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        scheduler.scheduleWithFixedDelay(this::pollOtherInstances, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Set<SseEmitter> userEmitters = emitters.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet());
+        userEmitters.add(emitter);
+        Runnable remove = () -> removeEmitter(userId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+
+        // A reconnecting client sends the id of the last event it saw; replay what it missed, or have it reload
+        // the list when that is more than one page
+        if (lastEventId != null) {
+            List<NotificationEvent> missed = notificationRepository
+                    .findByRecipientIdAndReadFalseAndIdGreaterThanOrderByIdAsc(userId, lastEventId,
+                            Limit.of(REPLAY_LIMIT + 1)).stream()
+                    .map(NotificationEvent::from)
+                    .toList();
+            if (missed.size() > REPLAY_LIMIT) {
+                scheduler.execute(() -> sendResync(userId, emitter));
+                return emitter;
+            }
+            long now = System.currentTimeMillis();
+            missed.forEach(event -> recentlyPushed.put(event.getId(), now));
+            scheduler.execute(() -> missed.forEach(event -> send(userId, emitter, event)));
+        }
+        return emitter;
+    }
+
+    // Pushes once the surrounding transaction commits, so clients never see a notification that was rolled back
+    public void publishAfterCommit(List<Notification> notifications) {
+        List<Notification> published = notifications.stream()
+                .filter(notification -> notification.getId() != null
+                        && emitters.containsKey(notification.getRecipient().getId()))
+                .toList();
+        if (published.isEmpty()) {
+            return;
+        }
+        // Build the payload now, while lazy associations can still be read
+        List<Map.Entry<Long, NotificationEvent>> events = published.stream()
+                .map(notification -> Map.entry(notification.getRecipient().getId(), NotificationEvent.from(notification)))
+                .toList();
+        Runnable publish = () -> {
+            // Marked before the row can be polled, so it isn't pushed a second time
+            long now = System.currentTimeMillis();
+            events.forEach(event -> recentlyPushed.put(event.getValue().getId(), now));
+            scheduler.execute(() -> events.forEach(event -> publish(event.getKey(), event.getValue())));
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish.run();
+                }
+            });
+        } else {
+            publish.run();
+        }
+    }
+
+    public int getConnectionCount() {
+        return emitters.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        emitters.values().forEach(userEmitters -> userEmitters.forEach(SseEmitter::complete));
+        emitters.clear();
+    }
+
+    private void pollOtherInstances() {
+        try {
+            long now = System.currentTimeMillis();
+            // Keep ids a little longer than the lookback, so a row can't be polled again after its id was dropped
+            long expired = now - 2 * lookback.toMillis();
+            recentlyPushed.values().removeIf(pushedAt -> pushedAt < expired);
+
+            List<Long> connected = List.copyOf(emitters.keySet());
+            LocalDateTime since = LocalDateTime.now().minus(lookback);
+            for (int from = 0; from < connected.size(); from += POLL_CHUNK_SIZE) {
+                List<Long> recipients = connected.subList(from, Math.min(from + POLL_CHUNK_SIZE, connected.size()));
+                for (Notification notification : notificationRepository.findUnreadSince(recipients, since)) {
+                    if (recentlyPushed.putIfAbsent(notification.getId(), now) == null) {
+                        publish(notification.getRecipient().getId(), NotificationEvent.from(notification));
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to poll for notifications from other instances", e);
+        }
+    }
+
+    private void publish(Long userId, NotificationEvent event) {
+        Set<SseEmitter> userEmitters = emitters.get(userId);
+        if (userEmitters != null) {
+            userEmitters.forEach(emitter -> send(userId, emitter, event));
+        }
+    }
+
+    private void send(Long userId, SseEmitter emitter, NotificationEvent event) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(event.getId()))
+                    .name(EVENT_NAME)
+                    .data(event, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            removeEmitter(userId, emitter);
+        }
+    }
+
+    private void sendResync(Long userId, SseEmitter emitter) {
+        try {
+            emitter.send(SseEmitter.event().name(RESYNC_EVENT_NAME).data(""));
+        } catch (IOException | IllegalStateException e) {
+            removeEmitter(userId, emitter);
+        }
+    }
+
+    // Comment lines keep proxies from closing idle connections and surface dead ones
+    private void sendHeartbeats() {
+        emitters.forEach((userId, userEmitters) -> userEmitters.forEach(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                removeEmitter(userId, emitter);
+            }
+        }));
+    }
+
+    private void removeEmitter(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, userEmitters) -> {
+            userEmitters.remove(emitter);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+}
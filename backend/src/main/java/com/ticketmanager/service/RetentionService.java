@@ -0,0 +1,260 @@
+package com.ticketmanager.service;
+
+import com.ticketmanager.model.TicketStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+// Deletes old read notifications, sent emails, old superseded audit revisions and (optionally) actions of
+// long-closed tickets.
+// Every statement touches at most batch-size rows through an index and runs in its own short transaction, with a
+// pause between batches so production writes are not held up.
+// Envers sees none of these deletes, as they run over JDBC. Purged ticket actions therefore get no DEL revision in
+// ticket_actions_aud: their audit history ends with them still present, and the audit purge below keeps that last
+// revision like any other entity's.
+@Service
+@Slf4j
+public class RetentionService {
+
+    // Envers tables keyed by entity id; the newest revision before the cutoff is kept so history still resolves
+    private static final List<String> ENTITY_AUDIT_TABLES = List.of("tickets_aud", "ticket_actions_aud", "users_aud",
+            "teams_aud", "application_parameters_aud");
+    private static final List<String> COLLECTION_AUDIT_TABLES = List.of("user_teams_aud");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TicketSearchService ticketSearchService;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final int readNotificationsDays;
+    private final int auditDays;
+    private final int closedTicketActionsDays;
+    private final int sentEmailsDays;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public RetentionService(JdbcTemplate jdbcTemplate, TicketSearchService ticketSearchService,
+            MeterRegistry meterRegistry,
+            @Value("${ticketmanager.retention.enabled:true}") boolean enabled,
+            @Value("${ticketmanager.retention.batch-size:1000}") int batchSize,
+            @Value("${ticketmanager.retention.pause-ms:100}") long pauseMillis,
+            @Value("${ticketmanager.retention.read-notifications-days:90}") int readNotificationsDays,
+            @Value("${ticketmanager.retention.audit-days:365}") int auditDays,
+            @Value("${ticketmanager.retention.closed-ticket-actions-days:0}") int closedTicketActionsDays,
+            @Value("${ticketmanager.retention.sent-emails-days:30}") int sentEmailsDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.ticketSearchService = ticketSearchService;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.batchSize = Math.max(batchSize, 1);
+        this.pauseMillis = Math.max(pauseMillis, 0);
+        this.readNotificationsDays = readNotificationsDays;
+        this.auditDays = auditDays;
+        this.closedTicketActionsDays = closedTicketActionsDays;
+        this.sentEmailsDays = sentEmailsDays;
+    }
+
+    @Scheduled(cron = "${ticketmanager.retention.cron:0 30 3 * * *}")
+    public void runScheduled() {
+        if (enabled) {
+            run();
+        }
+    }
+
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Retention run already in progress");
+            return;
+        }
+        try {
+            // A period of 0 or less keeps the data forever
+            if (readNotificationsDays > 0) {
+                purge("notifications", () -> purgeReadNotifications(daysAgo(readNotificationsDays)));
+            }
+            if (sentEmailsDays > 0) {
+                purge("email_outbox", () -> purgeSentEmails(daysAgo(sentEmailsDays)));
+            }
+            if (closedTicketActionsDays > 0) {
+                purge("ticket_actions", () -> purgeClosedTicketActions(daysAgo(closedTicketActionsDays)));
+            }
+            if (auditDays > 0) {
+                long cutoffRev = firstRevisionAfter(daysAgo(auditDays));
+                for (String table : ENTITY_AUDIT_TABLES) {
+                    purge(table, () -> purgeSupersededRevisions(table, cutoffRev));
+                }
+                purge("revinfo", () -> purgeOrphanRevisions(cutoffRev));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Retention run interrupted");
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private long purgeReadNotifications(LocalDateTime cutoff) throws InterruptedException {
+        return deleteInBatches(() -> jdbcTemplate.update(
+                "DELETE FROM notifications WHERE is_read = true AND created_at < ? LIMIT ?",
+                Timestamp.valueOf(cutoff), batchSize));
+    }
+
+    // next_attempt_at of a sent email is its claim time plus the lease, close enough to the send time
+    private long purgeSentEmails(LocalDateTime cutoff) throws InterruptedException {
+        return deleteInBatches(() -> jdbcTemplate.update(
+                "DELETE FROM email_outbox WHERE status = 'SENT' AND next_attempt_at < ? LIMIT ?",
+                Timestamp.valueOf(cutoff), batchSize));
+    }
+
+    private long purgeClosedTicketActions(LocalDateTime cutoff) throws InterruptedException {
+        return deleteInBatches(() -> {
+            List<long[]> rows = jdbcTemplate.query(
+                    "SELECT ta.id, ta.ticket_id FROM ticket_actions ta JOIN tickets t ON t.id = ta.ticket_id "
+                            + "WHERE t.status = ? AND t.status_updated_at < ? ORDER BY ta.id LIMIT ?",
+                    (rs, rowNum) -> new long[] { rs.getLong(1), rs.getLong(2) },
+                    TicketStatus.CLOSED.ordinal(), Timestamp.valueOf(cutoff), batchSize);
+            int deleted = deleteByIds("ticket_actions", "id", rows.stream().map(row -> row[0]).toList());
+            // Otherwise the tickets stay findable by the deleted descriptions until the next full rebuild
+            ticketSearchService.reindex(rows.stream().map(row -> row[1]).distinct().toList());
+            return deleted;
+        });
+    }
+
+    // Walks (rev, id) upwards from the last row deleted, so the revisions kept are not scanned again every batch
+    private long purgeSupersededRevisions(String table, long cutoffRev) throws InterruptedException {
+        long[] last = { 0, 0 };
+        return deleteInBatches(() -> {
+            List<Object[]> rows = jdbcTemplate.query(
+                    "SELECT a.id, a.rev FROM " + table + " a WHERE a.rev < ?"
+                            + " AND (a.rev > ? OR (a.rev = ? AND a.id > ?)) AND EXISTS (SELECT 1 FROM " + table
+                            + " b WHERE b.id = a.id AND b.rev > a.rev AND b.rev < ?) ORDER BY a.rev, a.id LIMIT ?",
+                    (rs, rowNum) -> new Object[] { rs.getLong(1), rs.getLong(2) },
+                    cutoffRev, last[0], last[0], last[1], cutoffRev, batchSize);
+            if (rows.isEmpty()) {
+                return 0;
+            }
+            Object[] lastRow = rows.get(rows.size() - 1);
+            last[0] = (Long) lastRow[1];
+            last[1] = (Long) lastRow[0];
+            int[][] counts = jdbcTemplate.batchUpdate("DELETE FROM " + table + " WHERE id = ? AND rev = ?", rows,
+                    batchSize, (ps, row) -> {
+                        ps.setLong(1, (Long) row[0]);
+                        ps.setLong(2, (Long) row[1]);
+                    });
+            return countUpdated(counts);
+        });
+    }
+
+    private long purgeOrphanRevisions(long cutoffRev) throws InterruptedException {
+        StringBuilder unreferenced = new StringBuilder();
+        for (String table : ENTITY_AUDIT_TABLES) {
+            unreferenced.append(" AND NOT EXISTS (SELECT 1 FROM ").append(table).append(" a WHERE a.rev = r.rev)");
+        }
+        for (String table : COLLECTION_AUDIT_TABLES) {
+            unreferenced.append(" AND NOT EXISTS (SELECT 1 FROM ").append(table).append(" a WHERE a.rev = r.rev)");
+        }
+        // Starts each batch after the last revision deleted, past the referenced ones already checked
+        String select = "SELECT r.rev FROM revinfo r WHERE r.rev < ? AND r.rev > ?" + unreferenced
+                + " ORDER BY r.rev LIMIT ?";
+        long[] lastRev = { 0 };
+        return deleteInBatches(() -> {
+            List<Long> revs = jdbcTemplate.queryForList(select, Long.class, cutoffRev, lastRev[0], batchSize);
+            if (!revs.isEmpty()) {
+                lastRev[0] = revs.get(revs.size() - 1);
+            }
+            return deleteByIds("revinfo", "rev", revs);
+        });
+    }
+
+    // revinfo stores epoch millis; revisions are numbered in time order
+    private long firstRevisionAfter(LocalDateTime cutoff) {
+        long millis = cutoff.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        Long rev = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MIN(rev), (SELECT COALESCE(MAX(rev), 0) + 1 FROM revinfo)) FROM revinfo "
+                        + "WHERE revtstmp >= ?",
+                Long.class, millis);
+        return rev != null ? rev : 0;
+    }
+
+    private int deleteByIds(String table, String column, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return namedJdbcTemplate.update("DELETE FROM " + table + " WHERE " + column + " IN (:ids)",
+                new MapSqlParameterSource("ids", ids));
+    }
+
+    private long deleteInBatches(LongSupplier batch) throws InterruptedException {
+        long total = 0;
+        while (true) {
+            long deleted = batch.getAsLong();
+            total += deleted;
+            if (deleted < batchSize) {
+                return total;
+            }
+            if (pauseMillis > 0) {
+                Thread.sleep(pauseMillis);
+            }
+        }
+    }
+
+    private void purge(String table, PurgeStep step) throws InterruptedException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long deleted;
+        try {
+            deleted = step.run();
+        } catch (RuntimeException e) {
+            // One failing table should not stop the others
+            log.error("Retention failed for {}", table, e);
+            return;
+        } finally {
+            sample.stop(Timer.builder("ticketmanager.retention.duration")
+                    .description("Time spent purging old rows")
+                    .tag("table", table)
+                    .register(meterRegistry));
+        }
+        Counter.builder("ticketmanager.retention.deleted")
+                .description("Rows removed by the retention job")
+                .tag("table", table)
+                .register(meterRegistry)
+                .increment(deleted);
+        if (deleted > 0) {
+            log.info("Retention removed {} rows from {}", deleted, table);
+        }
+    }
+
+    private static long countUpdated(int[][] counts) {
+        long total = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // The driver may report SUCCESS_NO_INFO (-2) for rewritten batches
+                total += count >= 0 ? count : 1;
+            }
+        }
+        return total;
+    }
+
+    private static LocalDateTime daysAgo(int days) {
+        return LocalDateTime.now().minusDays(days);
+    }
+
+    @FunctionalInterface
+    private interface PurgeStep {
+        long run() throws InterruptedException;
+    }
+}
@@ -0,0 +1,232 @@
+package com.ticketmanager.service;
+
+import com.ticketmanager.repository.TeamRepository;
+import com.ticketmanager.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Which teams each user can act for (member or leader), and the reverse, each team's members and leaders, held as
+// bitsets. Entries are immutable and replaced on change, and a rebuild swaps in both maps at once, so permission
+// checks and notification fan-outs read them without locking. Changes made on this instance apply after commit;
+// changes made on another instance are picked up by the periodic rebuild, so they take at most
+// ticketmanager.team-index.refresh-ms to show.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TeamMembershipIndex {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final TeamRepository teamRepository;
+
+    // Null until the first build
+    private volatile Maps maps;
+    // Writers run JDBC queries while holding it; a lock rather than a monitor, so a virtual thread waiting on the
+    // database doesn't pin its carrier
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            doRebuild();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ticketmanager.team-index.refresh-ms:60000}",
+            initialDelayString = "${ticketmanager.team-index.refresh-ms:60000}")
+    public void refresh() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh team membership index", e);
+        }
+    }
+
+    private void doRebuild() {
+        Map<Long, List<Long>> teams = new HashMap<>();
+        jdbcTemplate.query("SELECT user_id, team_id FROM user_teams",
+                rs -> {
+                    teams.computeIfAbsent(rs.getLong("user_id"), id -> new ArrayList<>()).add(rs.getLong("team_id"));
+                });
+        jdbcTemplate.query("SELECT leader_id, id FROM teams WHERE leader_id IS NOT NULL",
+                rs -> {
+                    teams.computeIfAbsent(rs.getLong("leader_id"), id -> new ArrayList<>()).add(rs.getLong("id"));
+                });
+
+        Map<Long, IdSet> teamsByUser = new ConcurrentHashMap<>();
+        Map<Long, List<Long>> members = new HashMap<>();
+        teams.forEach((userId, teamIds) -> {
+            IdSet set = IdSet.of(teamIds);
+            teamsByUser.put(userId, set);
+            set.getIds().forEach(teamId -> members.computeIfAbsent(teamId, id -> new ArrayList<>()).add(userId));
+        });
+        Map<Long, IdSet> membersByTeam = new ConcurrentHashMap<>();
+        members.forEach((teamId, userIds) -> membersByTeam.put(teamId, IdSet.of(userIds)));
+
+        boolean first = maps == null;
+        maps = new Maps(teamsByUser, membersByTeam);
+        if (first) {
+            log.info("Team membership index built for {} users and {} teams", teamsByUser.size(),
+                    membersByTeam.size());
+        } else {
+            log.debug("Team membership index rebuilt for {} users and {} teams", teamsByUser.size(),
+                    membersByTeam.size());
+        }
+    }
+
+    public IdSet getTeams(Long userId) {
+        return loaded().teamsByUser().getOrDefault(userId, IdSet.EMPTY);
+    }
+
+    public boolean isMember(Long userId, Long teamId) {
+        return getTeams(userId).contains(teamId);
+    }
+
+    // Members and leader of the team
+    public IdSet getMembers(Long teamId) {
+        return loaded().membersByTeam().getOrDefault(teamId, IdSet.EMPTY);
+    }
+
+    // Re-reads one user's teams once the surrounding transaction has committed
+    public void refreshUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reloadUser(userId);
+                }
+            });
+        } else {
+            reloadUser(userId);
+        }
+    }
+
+    private void reloadUser(Long userId) {
+        writeLock.lock();
+        try {
+            if (maps != null) { // otherwise picked up by the first full build
+                doReloadUser(userId);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void doReloadUser(Long userId) {
+        List<Long> teamIds = new ArrayList<>(userRepository.findTeamIdsByUserId(userId));
+        teamIds.addAll(teamRepository.findIdsByLeaderId(userId));
+        IdSet updated = IdSet.of(teamIds);
+        Map<Long, IdSet> teamsByUser = maps.teamsByUser();
+        Map<Long, IdSet> membersByTeam = maps.membersByTeam();
+        IdSet previous = teamsByUser.getOrDefault(userId, IdSet.EMPTY);
+
+        if (updated.getIds().isEmpty()) {
+            teamsByUser.remove(userId);
+        } else {
+            teamsByUser.put(userId, updated);
+        }
+        for (Long teamId : previous.getIds()) {
+            if (!updated.contains(teamId)) {
+                membersByTeam.computeIfPresent(teamId, (id, members) -> {
+                    List<Long> remaining = members.getIds().stream().filter(member -> !member.equals(userId))
+                            .toList();
+                    return remaining.isEmpty() ? null : IdSet.of(remaining);
+                });
+            }
+        }
+        for (Long teamId : updated.getIds()) {
+            if (!previous.contains(teamId)) {
+                membersByTeam.merge(teamId, IdSet.of(List.of(userId)), (members, added) -> {
+                    List<Long> merged = new ArrayList<>(members.getIds());
+                    merged.add(userId);
+                    return IdSet.of(merged);
+                });
+            }
+        }
+    }
+
+    private Maps loaded() {
+        Maps current = maps;
+        if (current == null) {
+            writeLock.lock();
+            try {
+                if (maps == null) {
+                    doRebuild();
+                }
+                current = maps;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private record Maps(Map<Long, IdSet> teamsByUser, Map<Long, IdSet> membersByTeam) {
+    }
+
+    // Ids in a BitSet, or in a sorted array when one is too large to index it
+    public static final class IdSet {
+
+        static final IdSet EMPTY = new IdSet(new BitSet(0), null, List.of());
+
+        private final BitSet bits;
+        private final long[] sorted;
+        private final List<Long> ids;
+
+        private IdSet(BitSet bits, long[] sorted, List<Long> ids) {
+            this.bits = bits;
+            this.sorted = sorted;
+            this.ids = ids;
+        }
+
+        public static IdSet of(Collection<Long> ids) {
+            long[] sorted = ids.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+            List<Long> idList = Arrays.stream(sorted).boxed().toList();
+            if (sorted.length > 0 && (sorted[0] < 0 || sorted[sorted.length - 1] > Integer.MAX_VALUE)) {
+                return new IdSet(null, sorted, idList);
+            }
+            BitSet bits = new BitSet();
+            for (long id : sorted) {
+                bits.set((int) id);
+            }
+            return new IdSet(bits, null, idList);
+        }
+
+        public boolean contains(Long id) {
+            if (id == null) {
+                return false;
+            }
+            if (bits == null) {
+                return Arrays.binarySearch(sorted, id) >= 0;
+            }
+            return id >= 0 && id <= Integer.MAX_VALUE && bits.get(id.intValue());
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+    }
+}
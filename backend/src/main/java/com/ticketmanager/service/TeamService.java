@@ -15,6 +15,7 @@ public class TeamService {
 
     private final TeamRepository teamRepository;
     private final UserRepository userRepository;
+    private final TeamMembershipIndex teamMembershipIndex;
 
     public List<Team> getAllTeams(boolean includeInactive) {
         if (includeInactive) {
@@ -32,7 +33,11 @@ public class TeamService {
                 team.getMembers().add(leader);
             }
         }
-        return teamRepository.save(team);
+        Team savedTeam = teamRepository.save(team);
+        if (savedTeam.getLeader() != null) {
+            teamMembershipIndex.refreshUser(savedTeam.getLeader().getId());
+        }
+        return savedTeam;
     }
 
     public Team addMember(Long teamId, Long userId) {
@@ -43,6 +48,7 @@ public class TeamService {
 
         user.getTeams().add(team);
         userRepository.save(user);
+        teamMembershipIndex.refreshUser(user.getId());
 
         return team;
     }
@@ -57,6 +63,7 @@ public class TeamService {
         if (teamDetails.getDescription() != null) {
             team.setDescription(teamDetails.getDescription());
         }
+        User previousLeader = team.getLeader();
         if (teamDetails.getLeader() != null && teamDetails.getLeader().getId() != null) {
             User leader = userRepository.findById(teamDetails.getLeader().getId())
                     .orElseThrow(() -> new RuntimeException("Leader not found"));
@@ -66,6 +73,14 @@ public class TeamService {
             }
         }
 
-        return teamRepository.save(team);
+        Team savedTeam = teamRepository.save(team);
+        // Leaders act for the teams they lead, so both the old and new leader need their team set refreshed
+        if (previousLeader != null) {
+            teamMembershipIndex.refreshUser(previousLeader.getId());
+        }
+        if (savedTeam.getLeader() != null) {
+            teamMembershipIndex.refreshUser(savedTeam.getLeader().getId());
+        }
+        return savedTeam;
     }
 }
@@ -0,0 +1,161 @@
+package com.ticketmanager.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ticketmanager.dto.TicketActionExportRow;
+import com.ticketmanager.dto.TicketSummary;
+import com.ticketmanager.model.Ticket;
+import com.ticketmanager.repository.TicketActionRepository;
+import com.ticketmanager.repository.TicketRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+@Slf4j
+public class TicketExportService {
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    public enum Dataset {
+        TICKETS, ACTIONS
+    }
+
+    private static final String[] TICKET_COLUMNS = { "id", "ticketNumber", "title", "status", "priority",
+            "estimatedTime", "estimatedFinishDate", "createdAt", "updatedAt", "statusUpdatedAt", "createdById",
+            "createdByName", "assignedToId", "assignedToName", "assignedTeamId", "assignedTeamName" };
+    private static final String[] ACTION_COLUMNS = { "ticketId", "ticketNumber", "actionId", "timestamp",
+            "actorId", "actorName", "description" };
+
+    private final TicketRepository ticketRepository;
+    private final TicketActionRepository ticketActionRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public TicketExportService(TicketRepository ticketRepository, TicketActionRepository ticketActionRepository,
+            PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.ticketRepository = ticketRepository;
+        this.ticketActionRepository = ticketActionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // NDJSON needs exactly one document per line
+        this.objectMapper = objectMapper.copy().disable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    // The spec must be built on the request thread (it resolves the current user); the body runs later
+    // on an MVC async thread, so it opens its own read-only transaction around the cursor.
+    public StreamingResponseBody export(Specification<Ticket> spec, Dataset dataset, Format format, boolean gzip) {
+        return outputStream -> {
+            long start = System.currentTimeMillis();
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, 64 * 1024) : outputStream;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+
+            Long rows = readOnlyTransaction.execute(status -> {
+                try {
+                    return dataset == Dataset.ACTIONS
+                            ? writeActions(spec, format, writer)
+                            : writeTickets(spec, format, writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            writer.flush();
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+            log.info("Exported {} {} rows as {} in {} ms", rows, dataset, format, System.currentTimeMillis() - start);
+        };
+    }
+
+    private long writeTickets(Specification<Ticket> spec, Format format, Writer writer) throws IOException {
+        if (format == Format.CSV) {
+            writeCsvLine(writer, (Object[]) TICKET_COLUMNS);
+        }
+        long rows = 0;
+        try (Stream<TicketSummary> stream = ticketRepository.streamSummaries(spec)) {
+            for (TicketSummary ticket : (Iterable<TicketSummary>) stream::iterator) {
+                if (format == Format.CSV) {
+                    writeCsvLine(writer, ticket.getId(), ticket.getTicketNumber(), ticket.getTitle(),
+                            ticket.getStatus(), ticket.getPriority(), ticket.getEstimatedTime(),
+                            ticket.getEstimatedFinishDate(), ticket.getCreatedAt(), ticket.getUpdatedAt(),
+                            ticket.getStatusUpdatedAt(),
+                            ticket.getCreatedBy() != null ? ticket.getCreatedBy().getId() : null,
+                            ticket.getCreatedBy() != null ? ticket.getCreatedBy().getName() : null,
+                            ticket.getAssignedTo() != null ? ticket.getAssignedTo().getId() : null,
+                            ticket.getAssignedTo() != null ? ticket.getAssignedTo().getName() : null,
+                            ticket.getAssignedTeam() != null ? ticket.getAssignedTeam().getId() : null,
+                            ticket.getAssignedTeam() != null ? ticket.getAssignedTeam().getName() : null);
+                } else {
+                    writeJsonLine(writer, ticket);
+                }
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private long writeActions(Specification<Ticket> spec, Format format, Writer writer) throws IOException {
+        if (format == Format.CSV) {
+            writeCsvLine(writer, (Object[]) ACTION_COLUMNS);
+        }
+        long rows = 0;
+        try (Stream<TicketActionExportRow> stream = ticketActionRepository.streamActionRows(spec)) {
+            for (TicketActionExportRow action : (Iterable<TicketActionExportRow>) stream::iterator) {
+                if (format == Format.CSV) {
+                    writeCsvLine(writer, action.getTicketId(), action.getTicketNumber(), action.getActionId(),
+                            action.getTimestamp(), action.getActorId(), action.getActorName(),
+                            action.getDescription());
+                } else {
+                    writeJsonLine(writer, action);
+                }
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private void writeJsonLine(Writer writer, Object row) throws IOException {
+        writer.write(objectMapper.writeValueAsString(row));
+        writer.write('\n');
+    }
+
+    private void writeCsvLine(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(escapeCsv(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    // A cell starting with = + - or @ is read as a formula by spreadsheets, so it is prefixed with ' to stay text
+    private String escapeCsv(String value) {
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,97 @@
+package com.ticketmanager.service;
+
+import com.ticketmanager.model.TicketDailyStat;
+import com.ticketmanager.model.TicketStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+// Business meters for tickets: latency and outcome of each TicketService operation, status transitions, and
+// the number of tickets per status and team. The gauges are read from the daily stats rollup on a schedule
+// rather than counting the tickets table on every scrape. Teams are tagged by id, which never changes; join
+// ticketmanager.team.info on the team tag for the current name.
+@Service
+@Slf4j
+public class TicketMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final MultiGauge ticketsByStatusAndTeam;
+    private final MultiGauge teamInfo;
+
+    public TicketMetrics(MeterRegistry meterRegistry, JdbcTemplate jdbcTemplate) {
+        this.meterRegistry = meterRegistry;
+        this.jdbcTemplate = jdbcTemplate;
+        this.ticketsByStatusAndTeam = MultiGauge.builder("ticketmanager.tickets")
+                .description("Tickets per status and assigned team id")
+                .register(meterRegistry);
+        this.teamInfo = MultiGauge.builder("ticketmanager.team.info")
+                .description("Always 1; maps the team id tag to the team's current name")
+                .register(meterRegistry);
+    }
+
+    // Outcome is "failure" when the operation throws, which includes permission and validation errors
+    public <T> T record(String operation, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            T result = action.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder("ticketmanager.tickets.operation")
+                    .description("TicketService operation latency, excluding the commit")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    // Counted when the change is made, so a transaction that rolls back afterwards is still included
+    public void recordTransition(TicketStatus from, TicketStatus to, long count) {
+        Counter.builder("ticketmanager.tickets.transitions")
+                .description("Ticket status changes")
+                .tag("from", name(from))
+                .tag("to", name(to))
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    private static String name(TicketStatus status) {
+        return status != null ? status.name() : "NONE";
+    }
+
+    @Scheduled(fixedDelayString = "${ticketmanager.metrics.ticket-gauges-ms:60000}", initialDelay = 10000)
+    public void refreshTicketGauges() {
+        try {
+            List<MultiGauge.Row<?>> teams = jdbcTemplate.query("SELECT id, name FROM teams",
+                    (rs, rowNum) -> MultiGauge.Row.of(Tags.of("team", String.valueOf(rs.getLong("id")),
+                            "name", rs.getString("name")), 1));
+            // Overwrite drops the old name of a renamed team
+            teamInfo.register(teams, true);
+
+            List<MultiGauge.Row<?>> rows = jdbcTemplate.query(
+                    "SELECT team_id, status, SUM(ticket_count) AS tickets FROM ticket_daily_stats "
+                            + "GROUP BY team_id, status",
+                    (rs, rowNum) -> {
+                        long teamId = rs.getLong("team_id");
+                        String team = teamId == TicketDailyStat.NO_TEAM ? "none" : String.valueOf(teamId);
+                        return MultiGauge.Row.of(Tags.of("status", TicketStatus.values()[rs.getInt("status")].name(),
+                                "team", team), rs.getLong("tickets"));
+                    });
+            // Overwrite drops rows for teams that no longer have tickets in a status
+            ticketsByStatusAndTeam.register(rows, true);
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh ticket gauges", e);
+        }
+    }
+}
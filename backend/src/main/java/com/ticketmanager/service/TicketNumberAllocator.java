@@ -0,0 +1,183 @@
+package com.ticketmanager.service;
+
+import com.ticketmanager.util.ThreadUtils;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Year;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Hands out ticket numbers (yyyy + 6-digit sequence) from blocks reserved in ticket_number_sequences.
+// Numbers within a block come from an AtomicLong; only reserving a new block touches the database, in a short
+// transaction with a row lock, so several nodes never hand out the same number. Numbers left in a block when the
+// node stops are skipped, so the sequence can have gaps.
+// Blocks are reserved on a background thread over a connection of their own, outside the application pool: the
+// callers are inside createTicket's transaction and already hold a pool connection each, so a reservation that
+// needed one more could wait on the very connections its waiters hold. The next block is reserved once the current
+// one is PREFETCH_AT used, so a create normally never waits for it.
+@Service
+@Slf4j
+public class TicketNumberAllocator {
+
+    private static final double PREFETCH_AT = 0.8;
+
+    private final HikariDataSource ownedDataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+    private final ExecutorService reserver;
+
+    private volatile Block currentBlock;
+    // The block being reserved, or already reserved, to follow currentBlock; guarded by lock
+    private Future<Block> nextBlock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public TicketNumberAllocator(DataSourceProperties dataSourceProperties,
+            @Value("${ticketmanager.ticket-number.block-size:20}") int blockSize,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this(reservationDataSource(dataSourceProperties), blockSize, virtualThreads);
+    }
+
+    TicketNumberAllocator(DataSource dataSource, int blockSize, boolean virtualThreads) {
+        this.ownedDataSource = dataSource instanceof HikariDataSource hikari ? hikari : null;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.blockSize = Math.max(blockSize, 1);
+        this.reserver = Executors.newSingleThreadExecutor(ThreadUtils.factory("ticket-number-reserver",
+                virtualThreads));
+    }
+
+    // One connection, opened on first use
+    private static HikariDataSource reservationDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("ticket-number");
+        dataSource.setMaximumPoolSize(1);
+        dataSource.setMinimumIdle(0);
+        return dataSource;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reserver.shutdownNow();
+        if (ownedDataSource != null) {
+            ownedDataSource.close();
+        }
+    }
+
+    public String nextTicketNumber() {
+        int year = Year.now().getValue();
+        while (true) {
+            Block block = currentBlock;
+            if (block != null && block.year == year) {
+                long value = block.next.getAndIncrement();
+                if (value < block.limit) {
+                    if (value == block.prefetchAt) {
+                        prefetch(year);
+                    }
+                    return year + String.format("%06d", value);
+                }
+            }
+            advance(block, year);
+        }
+    }
+
+    private void prefetch(int year) {
+        lock.lock();
+        try {
+            if (nextBlock == null) {
+                nextBlock = reserver.submit(() -> reserveBlock(year));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Waiting here holds no database resource of its own; the reservation runs on the reserver's connection
+    private void advance(Block exhausted, int year) {
+        lock.lock();
+        try {
+            // Another thread may have moved on while we waited for the lock
+            if (currentBlock != exhausted) {
+                return;
+            }
+            Future<Block> pending = nextBlock != null ? nextBlock : reserver.submit(() -> reserveBlock(year));
+            nextBlock = null;
+            Block reserved = await(pending);
+            // A block prefetched just before the year changed is dropped; the loop reserves one for the new year
+            currentBlock = reserved.year == year ? reserved : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Block await(Future<Block> pending) {
+        try {
+            return pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while reserving ticket numbers", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to reserve ticket numbers", e.getCause());
+        }
+    }
+
+    // Runs on the reserver thread only; package-private so the allocator can be tested without a database
+    Block reserveBlock(int year) {
+        long start = transactionTemplate.execute(status -> {
+            List<Long> next = lockSequence(year);
+            if (next.isEmpty()) {
+                jdbcTemplate.update("INSERT IGNORE INTO ticket_number_sequences (seq_year, next_value) VALUES (?, ?)",
+                        year, firstFreeSequence(year));
+                next = lockSequence(year);
+            }
+            if (next.isEmpty()) {
+                throw new RuntimeException("Ticket number sequence not found for " + year);
+            }
+            jdbcTemplate.update("UPDATE ticket_number_sequences SET next_value = ? WHERE seq_year = ?",
+                    next.get(0) + blockSize, year);
+            return next.get(0);
+        });
+        log.debug("Reserved ticket numbers {} to {} for {}", start, start + blockSize - 1, year);
+        return new Block(year, start, start + blockSize);
+    }
+
+    private List<Long> lockSequence(int year) {
+        return jdbcTemplate.queryForList("SELECT next_value FROM ticket_number_sequences WHERE seq_year = ? FOR UPDATE",
+                Long.class, year);
+    }
+
+    // Seeds a new year's row from the numbers already in use, for data created before the sequence table existed
+    private long firstFreeSequence(int year) {
+        String highest = jdbcTemplate.queryForObject(
+                "SELECT MAX(ticket_number) FROM tickets WHERE ticket_number LIKE ?", String.class, year + "%");
+        return highest != null ? Long.parseLong(highest.substring(4)) + 1 : 1L;
+    }
+
+    static final class Block {
+        private final int year;
+        private final AtomicLong next;
+        private final long limit;
+        private final long prefetchAt;
+
+        Block(int year, long start, long limit) {
+            this.year = year;
+            this.next = new AtomicLong(start);
+            this.limit = limit;
+            this.prefetchAt = start + (long) ((limit - start) * PREFETCH_AT);
+        }
+    }
+}
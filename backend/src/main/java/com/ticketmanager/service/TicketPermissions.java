@@ -0,0 +1,84 @@
+package com.ticketmanager.service;
+
+import com.ticketmanager.model.Ticket;
+import com.ticketmanager.model.TicketStatus;
+import com.ticketmanager.model.User;
+import com.ticketmanager.service.CurrentUserResolver.CurrentUser;
+
+// The checks TicketService runs before a write. They only look at their arguments, so they need no Spring context.
+public class TicketPermissions {
+
+    public static void checkStatusChangeAllowed(Ticket ticket, TicketStatus status, CurrentUser currentUser) {
+        TicketStatus oldStatus = ticket.getStatus();
+
+        // Permission Check:
+        // 1. Admin can do anything (except we might want to restrict some things, but
+        // generally Admin is superuser)
+        // 2. User can act if ticket is assigned to their team.
+        // 3. Exception: If ticket is RESOLVED and User is Creator, they can change
+        // status to CLOSED (Approve).
+
+        boolean isTeamMember = isTeamMember(ticket, currentUser);
+
+        boolean isCreator = ticket.getCreatedBy().getId().equals(currentUser.getId());
+
+        // Check for "Approve" scenario (Creator closing resolved ticket)
+        boolean isApproving = isCreator && oldStatus == TicketStatus.RESOLVED && status == TicketStatus.CLOSED;
+
+        if (currentUser.getRole() != User.Role.ADMIN && !isTeamMember && !isApproving) {
+            throw new RuntimeException("You do not have permission to update this ticket's status");
+        }
+
+        // Enforce Admin-only reopening
+        if ((oldStatus == TicketStatus.RESOLVED || oldStatus == TicketStatus.CLOSED) &&
+                (status == TicketStatus.OPEN || status == TicketStatus.IN_PROGRESS)) {
+            if (currentUser.getRole() != User.Role.ADMIN) {
+                throw new RuntimeException("Only admins can reopen tickets");
+            }
+        }
+    }
+
+    public static void checkAssignAllowed(Ticket ticket, Long userId, CurrentUser currentUser) {
+        // Restrict assignment of CLOSED tickets to Admins only
+        if (ticket.getStatus() == TicketStatus.CLOSED && currentUser.getRole() != User.Role.ADMIN) {
+            throw new RuntimeException("Only admins can assign closed tickets");
+        }
+
+        if (currentUser.getRole() != User.Role.ADMIN) {
+            if (userId != null && !currentUser.getId().equals(userId)) {
+                // Allow user to assign to themselves ("get" the ticket)
+                throw new RuntimeException("Only admins can assign tickets to others");
+            }
+            // If userId is null (unassign), we might want to restrict who can unassign.
+            // Assuming for now that if you can edit, you can unassign?
+            // Or maybe only Admin can unassign?
+            // Requirement: "when a ticket is unsigned set null for assigned_to_id"
+            // Let's assume Admin or the assigned user can unassign themselves?
+            // For simplicity and matching typical "pick up" logic, let's allow Admin.
+            // If a user wants to "release" a ticket, they are unassigning themselves.
+            if (userId == null && ticket.getAssignedTo() != null
+                    && !ticket.getAssignedTo().getId().equals(currentUser.getId())) {
+                throw new RuntimeException("You can only unassign yourself");
+            }
+        }
+    }
+
+    public static void checkTeamAssignAllowed(Ticket ticket, CurrentUser currentUser) {
+        // Restrict assignment of CLOSED tickets to Admins only
+        if (ticket.getStatus() == TicketStatus.CLOSED && currentUser.getRole() != User.Role.ADMIN) {
+            throw new RuntimeException("Only admins can assign closed tickets");
+        }
+
+        if (currentUser.getRole() != User.Role.ADMIN) {
+            // Logic: Can a regular user assign to a team? Assuming only Admin for now or
+            // Team Leader?
+            // Requirement says "admin can assign any ticket to anyone".
+            // Let's restrict team assignment to Admin for now.
+            throw new RuntimeException("Only admins can assign tickets to teams");
+        }
+    }
+
+    public static boolean isTeamMember(Ticket ticket, CurrentUser user) {
+        return ticket.getAssignedTeam() != null && user.isMemberOf(ticket.getAssignedTeam().getId());
+    }
+}
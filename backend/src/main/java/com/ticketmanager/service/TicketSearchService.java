@@ -0,0 +1,413 @@
+package com.ticketmanager.service;
+
+import com.ticketmanager.util.ThreadUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+// In-memory inverted index over ticket number, title, description and action descriptions.
+// A ticket is always indexed from what the database holds for it, never by adding to what is indexed already,
+// so indexing the same ticket twice is harmless. Writes on this instance queue their tickets once the transaction
+// commits and a background thread re-reads them; writes on other instances are picked up by the periodic refresh,
+// which re-reads tickets updated or given an action since the previous one. Deletions made elsewhere only show
+// after the nightly rebuild, which like the startup one fills a new index and swaps it in.
+@Service
+@Slf4j
+public class TicketSearchService {
+
+    private static final float NUMBER_WEIGHT = 8f;
+    private static final float TITLE_WEIGHT = 4f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final float ACTION_WEIGHT = 0.5f;
+    private static final float PREFIX_PENALTY = 0.5f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int RELOAD_CHUNK_SIZE = 500;
+
+    private static final Pattern HTML_TAGS = Pattern.compile("<[^>]*>");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{Alnum}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    // Covers clock skew between instances and transactions that commit a while after setting updated_at
+    private final Duration refreshOverlap;
+
+    private volatile Index index = new Index();
+    // Start of the last full build or refresh; null until the first build
+    private volatile LocalDateTime refreshedFrom;
+    // Writers run JDBC queries while holding it; a lock rather than a monitor, so a virtual thread waiting on the
+    // database doesn't pin its carrier
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Set<Long> pendingTickets = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean reloadRequested = new AtomicBoolean(false);
+    private final ExecutorService reloader;
+
+    public TicketSearchService(JdbcTemplate jdbcTemplate,
+            @Value("${ticketmanager.search.refresh-overlap-seconds:120}") long refreshOverlapSeconds,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.refreshOverlap = Duration.ofSeconds(Math.max(refreshOverlapSeconds, 0));
+        this.reloader = Executors.newSingleThreadExecutor(ThreadUtils.factory("ticket-search-reload", virtualThreads));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            doRebuild();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Also drops what was deleted on other instances, such as action rows purged by their retention run, which
+    // the refresh cannot see
+    @Scheduled(cron = "${ticketmanager.search.rebuild-cron:0 30 5 * * *}")
+    public void rebuildScheduled() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild the search index", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ticketmanager.search.refresh-ms:30000}",
+            initialDelayString = "${ticketmanager.search.refresh-ms:30000}")
+    public void refresh() {
+        writeLock.lock();
+        try {
+            if (refreshedFrom != null) { // otherwise the first full build hasn't run yet
+                doRefresh();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh the search index", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reloader.shutdownNow();
+    }
+
+    private void doRebuild() {
+        long start = System.currentTimeMillis();
+        LocalDateTime from = LocalDateTime.now();
+        Map<Long, TicketFields> fields = new HashMap<>();
+        jdbcTemplate.query("SELECT id, ticket_number, title, description, assigned_team_id, assigned_to_id, "
+                + "created_by_id FROM tickets", rs -> {
+                    fields.put(rs.getLong("id"), readFields(rs));
+                });
+        Map<Long, Map<String, Integer>> actionTermCounts = new HashMap<>();
+        jdbcTemplate.query("SELECT ticket_id, description FROM ticket_actions", rs -> {
+            countTerms(actionTermCounts.computeIfAbsent(rs.getLong("ticket_id"), id -> new HashMap<>()),
+                    rs.getString("description"));
+        });
+
+        Index rebuilt = new Index();
+        fields.forEach((ticketId, ticketFields) -> rebuilt.put(ticketId, ticketFields,
+                actionTermCounts.getOrDefault(ticketId, Map.of())));
+        index = rebuilt;
+        refreshedFrom = from;
+        log.info("Indexed {} tickets ({} terms) in {} ms", rebuilt.documents.size(), rebuilt.postings.size(),
+                System.currentTimeMillis() - start);
+        // Tickets written while the build ran may have been read before their commit
+        requestReload();
+    }
+
+    private void doRefresh() {
+        LocalDateTime from = LocalDateTime.now();
+        Timestamp since = Timestamp.valueOf(refreshedFrom.minus(refreshOverlap));
+        List<Long> ticketIds = jdbcTemplate.queryForList("SELECT id FROM tickets WHERE updated_at >= ? "
+                + "UNION SELECT ticket_id FROM ticket_actions WHERE `timestamp` >= ?", Long.class, since, since);
+        reload(ticketIds);
+        refreshedFrom = from;
+        log.debug("Search index refreshed {} tickets", ticketIds.size());
+    }
+
+    // Re-indexes the tickets from the database once the surrounding transaction has committed
+    public void reindex(Long ticketId) {
+        reindex(List.of(ticketId));
+    }
+
+    public void reindex(Collection<Long> ticketIds) {
+        if (ticketIds.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            pendingTickets.addAll(ticketIds);
+            requestReload();
+        });
+    }
+
+    private void requestReload() {
+        if (reloadRequested.compareAndSet(false, true)) {
+            reloader.execute(() -> {
+                reloadRequested.set(false);
+                reloadPending();
+            });
+        }
+    }
+
+    private void reloadPending() {
+        writeLock.lock();
+        try {
+            if (refreshedFrom == null) { // picked up by the first full build
+                return;
+            }
+            // Removed before reading, so a ticket written again meanwhile is queued again
+            List<Long> ticketIds = new ArrayList<>(pendingTickets);
+            pendingTickets.removeAll(ticketIds);
+            reload(ticketIds);
+        } catch (RuntimeException e) {
+            log.warn("Failed to re-index tickets; the next refresh picks them up", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void reload(List<Long> ticketIds) {
+        for (int from = 0; from < ticketIds.size(); from += RELOAD_CHUNK_SIZE) {
+            List<Long> chunk = ticketIds.subList(from, Math.min(from + RELOAD_CHUNK_SIZE, ticketIds.size()));
+            MapSqlParameterSource ids = new MapSqlParameterSource("ids", chunk);
+            Map<Long, TicketFields> fields = new HashMap<>();
+            namedJdbcTemplate.query("SELECT id, ticket_number, title, description, assigned_team_id, "
+                    + "assigned_to_id, created_by_id FROM tickets WHERE id IN (:ids)", ids, rs -> {
+                        fields.put(rs.getLong("id"), readFields(rs));
+                    });
+            Map<Long, Map<String, Integer>> actionTermCounts = new HashMap<>();
+            namedJdbcTemplate.query("SELECT ticket_id, description FROM ticket_actions WHERE ticket_id IN (:ids)",
+                    ids, rs -> {
+                        countTerms(actionTermCounts.computeIfAbsent(rs.getLong("ticket_id"), id -> new HashMap<>()),
+                                rs.getString("description"));
+                    });
+
+            Index current = index;
+            for (Long ticketId : chunk) {
+                TicketFields ticketFields = fields.get(ticketId);
+                if (ticketFields == null) {
+                    current.remove(ticketId);
+                } else {
+                    current.put(ticketId, ticketFields, actionTermCounts.getOrDefault(ticketId, Map.of()));
+                }
+            }
+        }
+    }
+
+    private static TicketFields readFields(ResultSet rs) throws SQLException {
+        return new TicketFields(rs.getString("ticket_number"), rs.getString("title"), rs.getString("description"),
+                rs.getObject("assigned_team_id", Long.class), rs.getObject("assigned_to_id", Long.class),
+                rs.getObject("created_by_id", Long.class));
+    }
+
+    private static void countTerms(Map<String, Integer> counts, String text) {
+        for (String term : tokenize(text)) {
+            counts.merge(term, 1, Integer::sum);
+        }
+    }
+
+    // Returns matching ticket ids, best first. Every query term must match a whole term or a term prefix.
+    // teamIds == null means no visibility restriction (admins), mirroring TicketSpecification.filterTickets.
+    public List<Long> search(String query, int limit, Collection<Long> teamIds, Long currentUserId) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        Index current = index;
+        Map<Long, Float> scores = null;
+        for (String term : terms) {
+            Map<Long, Float> termScores = scoreTerm(current, term);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                Map<Long, Float> previous = scores;
+                scores = new HashMap<>();
+                for (Map.Entry<Long, Float> entry : termScores.entrySet()) {
+                    Float score = previous.get(entry.getKey());
+                    if (score != null) {
+                        scores.put(entry.getKey(), score + entry.getValue());
+                    }
+                }
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        boolean restricted = teamIds != null && !teamIds.isEmpty();
+        return scores.entrySet().stream()
+                .filter(entry -> !restricted
+                        || isVisible(current.documents.get(entry.getKey()), teamIds, currentUserId))
+                .sorted(Map.Entry.<Long, Float>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private Map<Long, Float> scoreTerm(Index current, String term) {
+        Map<Long, Float> termScores = new HashMap<>();
+        NavigableMap<String, Map<Long, Float>> matches = current.postings.subMap(term, true,
+                term + Character.MAX_VALUE, false);
+        int expansions = 0;
+        for (Map.Entry<String, Map<Long, Float>> match : matches.entrySet()) {
+            if (expansions++ >= MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            float factor = match.getKey().equals(term) ? 1f : PREFIX_PENALTY;
+            for (Map.Entry<Long, Float> posting : match.getValue().entrySet()) {
+                termScores.merge(posting.getKey(), posting.getValue() * factor, Math::max);
+            }
+        }
+        return termScores;
+    }
+
+    private boolean isVisible(IndexedTicket document, Collection<Long> teamIds, Long currentUserId) {
+        if (document == null) {
+            return false;
+        }
+        TicketFields fields = document.fields();
+        return (fields.teamId() != null && teamIds.contains(fields.teamId()))
+                || (currentUserId != null && currentUserId.equals(fields.assignedToId()))
+                || (currentUserId != null && currentUserId.equals(fields.createdById()));
+    }
+
+    private static Map<String, Float> computeWeights(TicketFields fields, Map<String, Integer> actionTermCounts) {
+        Map<String, Float> weights = new HashMap<>();
+        String number = fields.ticketNumber();
+        if (number != null) {
+            addTerms(weights, tokenize(number), NUMBER_WEIGHT);
+            // Also index the sequence part so "123" finds 2025000123
+            if (number.length() > 4 && number.substring(4).chars().allMatch(Character::isDigit)) {
+                addTerms(weights, List.of(String.valueOf(Long.parseLong(number.substring(4)))), NUMBER_WEIGHT);
+            }
+        }
+        addTerms(weights, tokenize(fields.title()), TITLE_WEIGHT);
+        addTerms(weights, tokenize(fields.description()), DESCRIPTION_WEIGHT);
+        for (Map.Entry<String, Integer> entry : actionTermCounts.entrySet()) {
+            weights.merge(entry.getKey(), ACTION_WEIGHT * (1 + (float) Math.log(entry.getValue())), Float::sum);
+        }
+        return weights;
+    }
+
+    private static void addTerms(Map<String, Float> weights, List<String> terms, float fieldWeight) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String term : terms) {
+            counts.merge(term, 1, Integer::sum);
+        }
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            weights.merge(entry.getKey(), fieldWeight * (1 + (float) Math.log(entry.getValue())), Float::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String plain = HTML_TAGS.matcher(text).replaceAll(" ");
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(plain, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase();
+        List<String> terms = new ArrayList<>();
+        for (String term : NON_ALPHANUMERIC.split(normalized)) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private record TicketFields(String ticketNumber, String title, String description, Long teamId,
+            Long assignedToId, Long createdById) {
+    }
+
+    private record IndexedTicket(TicketFields fields, Map<String, Float> weights) {
+    }
+
+    // Changed only under writeLock; searches read it concurrently
+    private static class Index {
+        // term -> (ticketId -> weight); sorted so prefix queries are a range scan
+        private final ConcurrentSkipListMap<String, Map<Long, Float>> postings = new ConcurrentSkipListMap<>();
+        private final Map<Long, IndexedTicket> documents = new ConcurrentHashMap<>();
+
+        // Replaces whatever was indexed for the ticket
+        void put(Long ticketId, TicketFields fields, Map<String, Integer> actionTermCounts) {
+            Map<String, Float> weights = computeWeights(fields, actionTermCounts);
+            IndexedTicket previous = documents.put(ticketId, new IndexedTicket(fields, weights));
+            if (previous != null) {
+                removePostings(ticketId, previous.weights().keySet(), weights.keySet());
+            }
+            for (Map.Entry<String, Float> entry : weights.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), t -> new ConcurrentHashMap<>()).put(ticketId,
+                        entry.getValue());
+            }
+        }
+
+        void remove(Long ticketId) {
+            IndexedTicket previous = documents.remove(ticketId);
+            if (previous != null) {
+                removePostings(ticketId, previous.weights().keySet(), Set.of());
+            }
+        }
+
+        private void removePostings(Long ticketId, Set<String> terms, Set<String> kept) {
+            for (String term : terms) {
+                if (!kept.contains(term)) {
+                    Map<Long, Float> docs = postings.get(term);
+                    if (docs != null) {
+                        docs.remove(ticketId);
+                        if (docs.isEmpty()) {
+                            postings.remove(term);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -1,30 +1,51 @@
 package com.ticketmanager.service;
 
+import com.ticketmanager.dto.BulkTicketResult;
+import com.ticketmanager.dto.CursorPage;
+import com.ticketmanager.dto.DashboardStats;
+import com.ticketmanager.dto.TicketFacets;
+import com.ticketmanager.dto.TicketSummary;
+import com.ticketmanager.model.Notification;
 import com.ticketmanager.model.Team;
 import com.ticketmanager.model.Ticket;
 import com.ticketmanager.model.TicketAction;
+import com.ticketmanager.model.TicketPriority;
 import com.ticketmanager.model.TicketStatus;
 import com.ticketmanager.model.User;
 import com.ticketmanager.repository.TeamRepository;
+import com.ticketmanager.repository.TicketBatchRepository;
 import com.ticketmanager.repository.TicketActionRepository;
 import com.ticketmanager.repository.TicketRepository;
 import com.ticketmanager.repository.TicketSpecification;
 import com.ticketmanager.repository.UserRepository;
+import com.ticketmanager.service.CurrentUserResolver.CurrentUser;
+import com.ticketmanager.util.CursorUtils;
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class TicketService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 200;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_BULK_SIZE = 1000;
+
     private final TicketRepository ticketRepository;
     private final UserRepository userRepository;
     private final TeamRepository teamRepository;
@@ -32,43 +53,178 @@ public class TicketService {
     private final NotificationService notificationService;
     private final TicketActionRepository ticketActionRepository;
     private final EmailService emailService;
+    private final TicketStatsService ticketStatsService;
+    private final TicketSearchService ticketSearchService;
+    private final TicketNumberAllocator ticketNumberAllocator;
+    private final TicketBatchRepository ticketBatchRepository;
+    private final CurrentUserResolver currentUserResolver;
+    private final TicketMetrics ticketMetrics;
 
     public org.springframework.data.domain.Page<Ticket> getAllTickets(Long assignedTo, Long assignedTeam,
             LocalDate startDate, LocalDate endDate,
             Boolean assignedToMe, TicketStatus status, LocalDate statusChangedFrom,
             org.springframework.data.domain.Pageable pageable) {
-        User currentUser = getCurrentUser();
+        Specification<Ticket> spec = buildVisibleTicketsSpecification(assignedTo, assignedTeam, startDate, endDate,
+                assignedToMe, status, statusChangedFrom);
+        return ticketRepository.findAll(spec, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public org.springframework.data.domain.Page<TicketSummary> getTicketSummaries(Long assignedTo, Long assignedTeam,
+            LocalDate startDate, LocalDate endDate,
+            Boolean assignedToMe, TicketStatus status, LocalDate statusChangedFrom,
+            org.springframework.data.domain.Pageable pageable) {
+        Specification<Ticket> spec = buildVisibleTicketsSpecification(assignedTo, assignedTeam, startDate, endDate,
+                assignedToMe, status, statusChangedFrom);
+        return ticketRepository.findSummaries(spec, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Ticket> getTicketsByCursor(Long assignedTo, Long assignedTeam,
+            LocalDate startDate, LocalDate endDate,
+            Boolean assignedToMe, TicketStatus status, LocalDate statusChangedFrom,
+            String cursor, int size, boolean includeTotal) {
+        int limit = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+
+        Specification<Ticket> filterSpec = buildVisibleTicketsSpecification(assignedTo, assignedTeam, startDate,
+                endDate, assignedToMe, status, statusChangedFrom);
+        Specification<Ticket> spec = filterSpec;
+        if (cursor != null && !cursor.isBlank()) {
+            CursorUtils.Cursor position = CursorUtils.decode(cursor);
+            spec = spec.and(TicketSpecification.seekAfter(position.createdAt(), position.id()));
+        }
+
+        // Fetch one extra row to know whether another page exists without counting
+        List<Ticket> rows = ticketRepository.findBy(spec, query -> query
+                .sortBy(Sort.by(Sort.Direction.DESC, "createdAt", "id"))
+                .project("createdBy", "assignedTo", "assignedTeam")
+                .limit(limit + 1)
+                .all());
+
+        boolean hasNext = rows.size() > limit;
+        List<Ticket> content = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            Ticket last = content.get(content.size() - 1);
+            nextCursor = CursorUtils.encode(last.getCreatedAt(), last.getId());
+        }
+
+        Long totalElements = includeTotal ? ticketRepository.count(filterSpec) : null;
+        return new CursorPage<>(content, nextCursor, hasNext, totalElements);
+    }
+
+    @Transactional(readOnly = true)
+    public TicketFacets getTicketFacets(Long assignedTo, Long assignedTeam,
+            LocalDate startDate, LocalDate endDate,
+            Boolean assignedToMe, TicketStatus status, LocalDate statusChangedFrom) {
+        Specification<Ticket> spec = buildVisibleTicketsSpecification(assignedTo, assignedTeam, startDate, endDate,
+                assignedToMe, status, statusChangedFrom);
+
+        TicketFacets facets = new TicketFacets();
+        for (TicketStatus s : TicketStatus.values()) {
+            facets.getByStatus().put(s, 0L);
+        }
+
+        for (Tuple row : ticketRepository.countFacets(spec)) {
+            long count = row.get("total", Long.class);
+            TicketStatus rowStatus = row.get("status", TicketStatus.class);
+            TicketPriority rowPriority = row.get("priority", TicketPriority.class);
+            Long teamId = row.get("teamId", Long.class);
+            Long assigneeId = row.get("assigneeId", Long.class);
+
+            facets.setTotal(facets.getTotal() + count);
+            if (rowStatus != null) {
+                facets.getByStatus().merge(rowStatus, count, Long::sum);
+            }
+            if (rowPriority != null) {
+                facets.getByPriority().merge(rowPriority, count, Long::sum);
+            }
+            if (teamId != null) {
+                facets.getByAssignedTeam().merge(teamId, count, Long::sum);
+            } else {
+                facets.setWithoutTeam(facets.getWithoutTeam() + count);
+            }
+            if (assigneeId != null) {
+                facets.getByAssignee().merge(assigneeId, count, Long::sum);
+            } else {
+                facets.setUnassigned(facets.getUnassigned() + count);
+            }
+        }
+        return facets;
+    }
+
+    @Transactional(readOnly = true)
+    public List<TicketSummary> searchTickets(String query, int limit) {
+        CurrentUser currentUser = currentUserResolver.resolve();
+
+        List<Long> teamIds = null;
+        if (currentUser.getRole() != User.Role.ADMIN) {
+            teamIds = currentUser.getTeamIds();
+        }
+
+        List<Long> ids = ticketSearchService.search(query, Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS), teamIds,
+                currentUser.getId());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Re-apply the visibility specification so the database stays the source of truth
+        Specification<Ticket> spec = TicketSpecification.filterTickets(null, null, null, null, null,
+                currentUser.getId(), null, teamIds, null).and(TicketSpecification.idIn(ids));
+        Map<Long, TicketSummary> byId = new HashMap<>();
+        ticketRepository.findSummaries(spec, org.springframework.data.domain.Pageable.unpaged())
+                .forEach(summary -> byId.put(summary.getId(), summary));
+
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public DashboardStats getDashboardStats(YearMonth month, Long teamId) {
+        CurrentUser currentUser = currentUserResolver.resolve();
+
+        // The rollup is kept per team, so non-admins see the figures of the teams they belong to
+        List<Long> teamIds;
+        if (currentUser.getRole() == User.Role.ADMIN) {
+            teamIds = teamId != null ? List.of(teamId) : null;
+        } else {
+            teamIds = currentUser.getTeamIds().stream()
+                    .filter(id -> teamId == null || id.equals(teamId))
+                    .toList();
+        }
+
+        return ticketStatsService.getStats(month != null ? month : YearMonth.now(), teamIds);
+    }
+
+    public Specification<Ticket> buildVisibleTicketsSpecification(Long assignedTo, Long assignedTeam,
+            LocalDate startDate, LocalDate endDate,
+            Boolean assignedToMe, TicketStatus status, LocalDate statusChangedFrom) {
+        CurrentUser currentUser = currentUserResolver.resolve();
 
         List<Long> teamIds = null;
         if (currentUser.getRole() != User.Role.ADMIN) {
-            teamIds = currentUser.getTeams().stream().map(Team::getId).toList();
+            teamIds = currentUser.getTeamIds();
         }
 
-        Specification<Ticket> spec = TicketSpecification.filterTickets(assignedTo, assignedTeam, startDate, endDate,
+        return TicketSpecification.filterTickets(assignedTo, assignedTeam, startDate, endDate,
                 assignedToMe, currentUser.getId(), status, teamIds, statusChangedFrom);
-        return ticketRepository.findAll(spec, pageable);
     }
 
     public Ticket getTicket(Long id) {
-        return ticketRepository.findById(id)
+        return ticketRepository.findDetailedById(id)
                 .orElseThrow(() -> new RuntimeException("Ticket not found"));
     }
 
     public Ticket createTicket(Ticket ticket) {
-        User currentUser = getCurrentUser();
+        return ticketMetrics.record("create", () -> doCreateTicket(ticket));
+    }
 
-        // Generate Ticket Number
-        String year = String.valueOf(java.time.Year.now().getValue());
-        String prefix = year;
-        String lastTicketNumber = ticketRepository.findTopByTicketNumberStartingWithOrderByTicketNumberDesc(prefix)
-                .map(Ticket::getTicketNumber)
-                .orElse(prefix + "000000");
+    private Ticket doCreateTicket(Ticket ticket) {
+        CurrentUser currentUser = currentUserResolver.resolve();
 
-        int sequence = Integer.parseInt(lastTicketNumber.substring(4)) + 1;
-        String ticketNumber = prefix + String.format("%06d", sequence);
-        ticket.setTicketNumber(ticketNumber);
+        // Generate Ticket Number
+        ticket.setTicketNumber(ticketNumberAllocator.nextTicketNumber());
 
-        ticket.setCreatedBy(currentUser);
+        ticket.setCreatedBy(getCurrentUser());
         ticket.setStatus(TicketStatus.OPEN);
         ticket.setStatusUpdatedAt(java.time.LocalDateTime.now());
 
@@ -82,7 +238,8 @@ public class TicketService {
         // Allow assignedTeam for everyone
 
         Ticket savedTicket = ticketRepository.save(ticket);
-        logAction(savedTicket, "Ticket created", currentUser);
+        logAction(savedTicket, "Ticket created", getCurrentUser());
+        ticketStatsService.recordCreated(savedTicket);
 
         // Send email if assigned to team
         if (savedTicket.getAssignedTeam() != null) {
@@ -93,10 +250,14 @@ public class TicketService {
     }
 
     public Ticket updateTicket(Long id, Ticket ticketDetails) {
+        return ticketMetrics.record("update", () -> doUpdateTicket(id, ticketDetails));
+    }
+
+    private Ticket doUpdateTicket(Long id, Ticket ticketDetails) {
         Ticket ticket = ticketRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Ticket not found"));
 
-        User currentUser = getCurrentUser();
+        CurrentUser currentUser = currentUserResolver.resolve();
 
         // Restrict editing of CLOSED tickets to Admins only
         if (ticket.getStatus() == TicketStatus.CLOSED && currentUser.getRole() != User.Role.ADMIN) {
@@ -104,7 +265,7 @@ public class TicketService {
         }
 
         // Permission Check: Admin or Team Member
-        boolean isTeamMember = isTeamMember(ticket, currentUser);
+        boolean isTeamMember = TicketPermissions.isTeamMember(ticket, currentUser);
 
         if (currentUser.getRole() != User.Role.ADMIN && !isTeamMember) {
             throw new RuntimeException("You do not have permission to edit this ticket");
@@ -120,11 +281,15 @@ public class TicketService {
             ticket.setEstimatedFinishDate(ticketDetails.getEstimatedFinishDate());
 
         Ticket savedTicket = ticketRepository.save(ticket);
-        logAction(savedTicket, "Ticket details updated", currentUser);
+        logAction(savedTicket, "Ticket details updated", getCurrentUser());
         return savedTicket;
     }
 
     public Ticket addAction(Long id, String description) {
+        return ticketMetrics.record("add_action", () -> doAddAction(id, description));
+    }
+
+    private Ticket doAddAction(Long id, String description) {
         Ticket ticket = ticketRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Ticket not found"));
 
@@ -132,9 +297,9 @@ public class TicketService {
             throw new RuntimeException("Actions can only be added when ticket is in progress");
         }
 
-        User currentUser = getCurrentUser();
+        CurrentUser currentUser = currentUserResolver.resolve();
 
-        boolean isTeamMember = isTeamMember(ticket, currentUser);
+        boolean isTeamMember = TicketPermissions.isTeamMember(ticket, currentUser);
 
         if (currentUser.getRole() != User.Role.ADMIN && !isTeamMember) {
             throw new RuntimeException("You do not have permission to add actions to this ticket");
@@ -151,36 +316,16 @@ public class TicketService {
     }
 
     public Ticket updateStatus(Long id, TicketStatus status) {
+        return ticketMetrics.record("status", () -> doUpdateStatus(id, status));
+    }
+
+    private Ticket doUpdateStatus(Long id, TicketStatus status) {
         Ticket ticket = ticketRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Ticket not found"));
         TicketStatus oldStatus = ticket.getStatus();
-        User currentUser = getCurrentUser();
-
-        // Permission Check:
-        // 1. Admin can do anything (except we might want to restrict some things, but
-        // generally Admin is superuser)
-        // 2. User can act if ticket is assigned to their team.
-        // 3. Exception: If ticket is RESOLVED and User is Creator, they can change
-        // status to CLOSED (Approve).
-
-        boolean isTeamMember = isTeamMember(ticket, currentUser);
+        CurrentUser currentUser = currentUserResolver.resolve();
 
-        boolean isCreator = ticket.getCreatedBy().getId().equals(currentUser.getId());
-
-        // Check for "Approve" scenario (Creator closing resolved ticket)
-        boolean isApproving = isCreator && oldStatus == TicketStatus.RESOLVED && status == TicketStatus.CLOSED;
-
-        if (currentUser.getRole() != User.Role.ADMIN && !isTeamMember && !isApproving) {
-            throw new RuntimeException("You do not have permission to update this ticket's status");
-        }
-
-        // Enforce Admin-only reopening
-        if ((oldStatus == TicketStatus.RESOLVED || oldStatus == TicketStatus.CLOSED) &&
-                (status == TicketStatus.OPEN || status == TicketStatus.IN_PROGRESS)) {
-            if (currentUser.getRole() != User.Role.ADMIN) {
-                throw new RuntimeException("Only admins can reopen tickets");
-            }
-        }
+        TicketPermissions.checkStatusChangeAllowed(ticket, status, currentUser);
 
         // Enforce justification for PAUSED
         // ... (existing logic)
@@ -189,10 +334,15 @@ public class TicketService {
         ticket.setStatusUpdatedAt(java.time.LocalDateTime.now());
         Ticket savedTicket = ticketRepository.save(ticket);
         logAction(savedTicket, "Status updated from " + oldStatus + " to " + status, getCurrentUser());
+        ticketStatsService.recordStatusChange(savedTicket, oldStatus, status);
         return savedTicket;
     }
 
     public Ticket pauseTicket(Long id, String reason) {
+        return ticketMetrics.record("pause", () -> doPauseTicket(id, reason));
+    }
+
+    private Ticket doPauseTicket(Long id, String reason) {
         Ticket ticket = ticketRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Ticket not found"));
 
@@ -207,10 +357,15 @@ public class TicketService {
         ticket.setStatus(TicketStatus.PAUSED);
         Ticket savedTicket = ticketRepository.save(ticket);
         logAction(savedTicket, "Ticket paused. Reason: " + reason, getCurrentUser());
+        ticketStatsService.recordStatusChange(savedTicket, TicketStatus.IN_PROGRESS, TicketStatus.PAUSED);
         return savedTicket;
     }
 
     public Ticket assignTicket(Long id, Long userId) {
+        return ticketMetrics.record("assign", () -> doAssignTicket(id, userId));
+    }
+
+    private Ticket doAssignTicket(Long id, Long userId) {
         Ticket ticket = ticketRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Ticket not found"));
         User assignee = null;
@@ -219,30 +374,9 @@ public class TicketService {
                     .orElseThrow(() -> new RuntimeException("User not found"));
         }
 
-        User currentUser = getCurrentUser();
+        CurrentUser currentUser = currentUserResolver.resolve();
 
-        // Restrict assignment of CLOSED tickets to Admins only
-        if (ticket.getStatus() == TicketStatus.CLOSED && currentUser.getRole() != User.Role.ADMIN) {
-            throw new RuntimeException("Only admins can assign closed tickets");
-        }
-
-        if (currentUser.getRole() != User.Role.ADMIN) {
-            if (userId != null && !currentUser.getId().equals(userId)) {
-                // Allow user to assign to themselves ("get" the ticket)
-                throw new RuntimeException("Only admins can assign tickets to others");
-            }
-            // If userId is null (unassign), we might want to restrict who can unassign.
-            // Assuming for now that if you can edit, you can unassign?
-            // Or maybe only Admin can unassign?
-            // Requirement: "when a ticket is unsigned set null for assigned_to_id"
-            // Let's assume Admin or the assigned user can unassign themselves?
-            // For simplicity and matching typical "pick up" logic, let's allow Admin.
-            // If a user wants to "release" a ticket, they are unassigning themselves.
-            if (userId == null && ticket.getAssignedTo() != null
-                    && !ticket.getAssignedTo().getId().equals(currentUser.getId())) {
-                throw new RuntimeException("You can only unassign yourself");
-            }
-        }
+        TicketPermissions.checkAssignAllowed(ticket, userId, currentUser);
 
         // If assigning to self, check estimation
         if (userId != null && currentUser.getId().equals(userId)) {
@@ -259,18 +393,20 @@ public class TicketService {
         Ticket savedTicket = ticketRepository.save(ticket);
 
         if (assignee != null) {
-            logAction(savedTicket, "Assigned to user: " + assignee.getName(), currentUser);
+            logAction(savedTicket, "Assigned to user: " + assignee.getName(), getCurrentUser());
             notificationService.createNotification(assignee, "Ticket #" + ticket.getTicketNumber() + " assigned to you",
                     ticket);
             emailService.sendTicketAssignedToUserEmail(savedTicket, assignee);
         } else {
-            logAction(savedTicket, "Ticket unassigned", currentUser);
+            logAction(savedTicket, "Ticket unassigned", getCurrentUser());
             // Enforce OPEN status when unassigned
             if (savedTicket.getStatus() != TicketStatus.OPEN) {
+                TicketStatus previousStatus = savedTicket.getStatus();
                 savedTicket.setStatus(TicketStatus.OPEN);
                 savedTicket.setStatusUpdatedAt(java.time.LocalDateTime.now());
                 savedTicket = ticketRepository.save(savedTicket);
-                logAction(savedTicket, "Status auto-updated to OPEN (Unassigned)", currentUser);
+                logAction(savedTicket, "Status auto-updated to OPEN (Unassigned)", getCurrentUser());
+                ticketStatsService.recordStatusChange(savedTicket, previousStatus, TicketStatus.OPEN);
             }
         }
 
@@ -278,78 +414,245 @@ public class TicketService {
     }
 
     public Ticket assignTicketToTeam(Long id, Long teamId) {
+        return ticketMetrics.record("assign_team", () -> doAssignTicketToTeam(id, teamId));
+    }
+
+    private Ticket doAssignTicketToTeam(Long id, Long teamId) {
         Ticket ticket = ticketRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Ticket not found"));
         Team team = teamRepository.findById(teamId)
                 .orElseThrow(() -> new RuntimeException("Team not found"));
 
-        User currentUser = getCurrentUser();
-
-        // Restrict assignment of CLOSED tickets to Admins only
-        if (ticket.getStatus() == TicketStatus.CLOSED && currentUser.getRole() != User.Role.ADMIN) {
-            throw new RuntimeException("Only admins can assign closed tickets");
-        }
+        CurrentUser currentUser = currentUserResolver.resolve();
 
-        if (currentUser.getRole() != User.Role.ADMIN) {
-            // Logic: Can a regular user assign to a team? Assuming only Admin for now or
-            // Team Leader?
-            // Requirement says "admin can assign any ticket to anyone".
-            // Let's restrict team assignment to Admin for now.
-            throw new RuntimeException("Only admins can assign tickets to teams");
-        }
+        TicketPermissions.checkTeamAssignAllowed(ticket, currentUser);
 
+        Team previousTeam = ticket.getAssignedTeam();
         ticket.setAssignedTeam(team);
         ticket.setAssignedTo(null); // Clear user assignment if assigned to team
         Ticket savedTicket = ticketRepository.save(ticket);
-        logAction(savedTicket, "Assigned to team: " + team.getName(), currentUser);
+        logAction(savedTicket, "Assigned to team: " + team.getName(), getCurrentUser());
+        ticketStatsService.recordTeamChange(savedTicket, previousTeam, team);
 
         // Notify all team members
-        for (User member : team.getMembers()) {
-            notificationService.createNotification(member,
-                    "Ticket #" + ticket.getTicketNumber() + " assigned to your team " + team.getName(), ticket);
-        }
+        notificationService.createTeamNotifications(team,
+                "Ticket #" + ticket.getTicketNumber() + " assigned to your team " + team.getName(), ticket);
 
         emailService.sendTicketAssignedToTeamEmail(savedTicket);
 
         return savedTicket;
     }
 
+    // Bulk operations load all tickets in one query, check permissions in memory and write action rows,
+    // notifications and rollup changes as JDBC batches. Ticket updates are flushed as batched UPDATEs at commit.
+    public List<BulkTicketResult> bulkUpdateStatus(List<Long> ticketIds, TicketStatus status) {
+        return ticketMetrics.record("bulk_status", () -> doBulkUpdateStatus(distinctIds(ticketIds), status));
+    }
+
+    private List<BulkTicketResult> doBulkUpdateStatus(List<Long> ticketIds, TicketStatus status) {
+        if (status == null) {
+            throw new RuntimeException("Status is required");
+        }
+        CurrentUser currentUser = currentUserResolver.resolve();
+        User actor = getCurrentUser();
+        Map<Long, Ticket> tickets = loadBulkTickets(ticketIds);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<BulkTicketResult> results = new ArrayList<>();
+        List<TicketAction> actions = new ArrayList<>();
+        TicketStatsService.Batch stats = ticketStatsService.batch();
+        for (Long id : ticketIds) {
+            Ticket ticket = tickets.get(id);
+            try {
+                if (ticket == null) {
+                    throw new RuntimeException("Ticket not found");
+                }
+                TicketPermissions.checkStatusChangeAllowed(ticket, status, currentUser);
+            } catch (RuntimeException e) {
+                results.add(BulkTicketResult.failed(id, e.getMessage()));
+                continue;
+            }
+
+            TicketStatus oldStatus = ticket.getStatus();
+            ticket.setStatus(status);
+            ticket.setStatusUpdatedAt(now);
+            actions.add(newAction(ticket, "Status updated from " + oldStatus + " to " + status, actor));
+            stats.statusChange(ticket, oldStatus, status);
+            results.add(BulkTicketResult.ok(id));
+        }
+
+        writeBulkChanges(actions, List.of(), stats);
+        return results;
+    }
+
+    public List<BulkTicketResult> bulkAssign(List<Long> ticketIds, Long userId) {
+        return ticketMetrics.record("bulk_assign", () -> doBulkAssign(distinctIds(ticketIds), userId));
+    }
+
+    private List<BulkTicketResult> doBulkAssign(List<Long> ticketIds, Long userId) {
+        CurrentUser currentUser = currentUserResolver.resolve();
+        User actor = getCurrentUser();
+        User assignee = null;
+        if (userId != null) {
+            assignee = userRepository.findById(userId)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+        }
+        Map<Long, Ticket> tickets = loadBulkTickets(ticketIds);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<BulkTicketResult> results = new ArrayList<>();
+        List<TicketAction> actions = new ArrayList<>();
+        List<Notification> notifications = new ArrayList<>();
+        List<Ticket> assigned = new ArrayList<>();
+        TicketStatsService.Batch stats = ticketStatsService.batch();
+        for (Long id : ticketIds) {
+            Ticket ticket = tickets.get(id);
+            try {
+                if (ticket == null) {
+                    throw new RuntimeException("Ticket not found");
+                }
+                TicketPermissions.checkAssignAllowed(ticket, userId, currentUser);
+            } catch (RuntimeException e) {
+                results.add(BulkTicketResult.failed(id, e.getMessage()));
+                continue;
+            }
+
+            ticket.setAssignedTo(assignee);
+            if (assignee != null) {
+                actions.add(newAction(ticket, "Assigned to user: " + assignee.getName(), actor));
+                notifications.add(Notification.builder()
+                        .recipient(assignee)
+                        .message("Ticket #" + ticket.getTicketNumber() + " assigned to you")
+                        .ticket(ticket)
+                        .createdAt(now)
+                        .build());
+                assigned.add(ticket);
+            } else {
+                actions.add(newAction(ticket, "Ticket unassigned", actor));
+                // Enforce OPEN status when unassigned
+                if (ticket.getStatus() != TicketStatus.OPEN) {
+                    TicketStatus previousStatus = ticket.getStatus();
+                    ticket.setStatus(TicketStatus.OPEN);
+                    ticket.setStatusUpdatedAt(now);
+                    actions.add(newAction(ticket, "Status auto-updated to OPEN (Unassigned)", actor));
+                    stats.statusChange(ticket, previousStatus, TicketStatus.OPEN);
+                }
+            }
+            results.add(BulkTicketResult.ok(id));
+        }
+
+        writeBulkChanges(actions, notifications, stats);
+        for (Ticket ticket : assigned) {
+            emailService.sendTicketAssignedToUserEmail(ticket, assignee);
+        }
+        return results;
+    }
+
+    public List<BulkTicketResult> bulkAssignToTeam(List<Long> ticketIds, Long teamId) {
+        return ticketMetrics.record("bulk_assign_team", () -> doBulkAssignToTeam(distinctIds(ticketIds), teamId));
+    }
+
+    private List<BulkTicketResult> doBulkAssignToTeam(List<Long> ticketIds, Long teamId) {
+        CurrentUser currentUser = currentUserResolver.resolve();
+        User actor = getCurrentUser();
+        Team team = teamRepository.findById(teamId)
+                .orElseThrow(() -> new RuntimeException("Team not found"));
+        Map<Long, Ticket> tickets = loadBulkTickets(ticketIds);
+        List<User> members = notificationService.getTeamRecipients(teamId);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<BulkTicketResult> results = new ArrayList<>();
+        List<TicketAction> actions = new ArrayList<>();
+        List<Notification> notifications = new ArrayList<>();
+        List<Ticket> assigned = new ArrayList<>();
+        TicketStatsService.Batch stats = ticketStatsService.batch();
+        for (Long id : ticketIds) {
+            Ticket ticket = tickets.get(id);
+            try {
+                if (ticket == null) {
+                    throw new RuntimeException("Ticket not found");
+                }
+                TicketPermissions.checkTeamAssignAllowed(ticket, currentUser);
+            } catch (RuntimeException e) {
+                results.add(BulkTicketResult.failed(id, e.getMessage()));
+                continue;
+            }
+
+            Team previousTeam = ticket.getAssignedTeam();
+            ticket.setAssignedTeam(team);
+            ticket.setAssignedTo(null); // Clear user assignment if assigned to team
+            actions.add(newAction(ticket, "Assigned to team: " + team.getName(), actor));
+            stats.teamChange(ticket, previousTeam, team);
+
+            // Notify all team members
+            for (User member : members) {
+                notifications.add(Notification.builder()
+                        .recipient(member)
+                        .message("Ticket #" + ticket.getTicketNumber() + " assigned to your team " + team.getName())
+                        .ticket(ticket)
+                        .createdAt(now)
+                        .build());
+            }
+            assigned.add(ticket);
+            results.add(BulkTicketResult.ok(id));
+        }
+
+        writeBulkChanges(actions, notifications, stats);
+        for (Ticket ticket : assigned) {
+            emailService.sendTicketAssignedToTeamEmail(ticket);
+        }
+        return results;
+    }
+
+    // A repeated id would otherwise write its action rows, notifications, emails and stats changes twice
+    private static List<Long> distinctIds(List<Long> ticketIds) {
+        return ticketIds == null ? null : new ArrayList<>(new LinkedHashSet<>(ticketIds));
+    }
+
+    private Map<Long, Ticket> loadBulkTickets(List<Long> ticketIds) {
+        if (ticketIds == null || ticketIds.isEmpty()) {
+            throw new RuntimeException("At least one ticket is required");
+        }
+        if (ticketIds.size() > MAX_BULK_SIZE) {
+            throw new RuntimeException("At most " + MAX_BULK_SIZE + " tickets can be updated at once");
+        }
+        Map<Long, Ticket> tickets = new HashMap<>();
+        for (Ticket ticket : ticketRepository.findByIdIn(ticketIds)) {
+            tickets.put(ticket.getId(), ticket);
+        }
+        return tickets;
+    }
+
+    private TicketAction newAction(Ticket ticket, String description, User actor) {
+        return TicketAction.builder()
+                .ticket(ticket)
+                .description(description)
+                .actor(actor)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    private void writeBulkChanges(List<TicketAction> actions, List<Notification> notifications,
+            TicketStatsService.Batch stats) {
+        ticketBatchRepository.insertActions(actions);
+        notificationService.createNotifications(notifications);
+        stats.flush();
+        ticketSearchService.reindex(actions.stream().map(action -> action.getTicket().getId()).distinct().toList());
+    }
+
     private TicketAction logAction(Ticket ticket, String description, User actor) {
         TicketAction action = TicketAction.builder()
                 .ticket(ticket)
                 .description(description)
                 .actor(actor)
                 .build();
-        return ticketActionRepository.save(action);
+        TicketAction savedAction = ticketActionRepository.save(action);
+        // Every write path logs an action, so this keeps the search index current
+        ticketSearchService.reindex(ticket.getId());
+        return savedAction;
     }
 
     private User getCurrentUser() {
-        OAuth2User oauth2User = (OAuth2User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        String email = oauth2User.getAttribute("email");
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-    }
-
-    public void fixUnassignedTicketStatuses() {
-        List<Ticket> tickets = ticketRepository.findByAssignedToIsNullAndStatusNot(TicketStatus.OPEN);
-        User systemUser = userRepository.findByEmail("admin@admin.com") // Assuming an admin or system user exists, or
-                                                                        // use current user if triggered via API
-                .orElseThrow(() -> new RuntimeException("System user not found"));
-        // Or better, use getCurrentUser() if triggered by admin
-
-        for (Ticket ticket : tickets) {
-            ticket.setStatus(TicketStatus.OPEN);
-            ticket.setStatusUpdatedAt(java.time.LocalDateTime.now());
-            Ticket savedTicket = ticketRepository.save(ticket);
-            logAction(savedTicket, "System: Status corrected to OPEN (Unassigned)", systemUser);
-        }
-    }
-
-    private boolean isTeamMember(Ticket ticket, User user) {
-        if (ticket.getAssignedTeam() == null || user.getTeams() == null) {
-            return false;
-        }
-        return user.getTeams().stream()
-                .anyMatch(t -> t.getId().equals(ticket.getAssignedTeam().getId()));
+        return currentUserResolver.getUser();
     }
 }
@@ -0,0 +1,277 @@
+package com.ticketmanager.service;
+
+import com.ticketmanager.dto.DashboardStats;
+import com.ticketmanager.model.Team;
+import com.ticketmanager.model.Ticket;
+import com.ticketmanager.model.TicketDailyStat;
+import com.ticketmanager.model.TicketStatus;
+import com.ticketmanager.repository.TicketDailyStatRepository;
+import com.ticketmanager.util.ThreadUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Ticket counts per created day, team and status, kept up to date incrementally for the dashboard.
+// Changes are applied after the ticket's transaction commits rather than inside it, so ticket writes never wait
+// on the few hot rollup rows of the current day. Each transaction's deltas are merged into a pending map on
+// commit, and a single writer thread applies everything pending as one sorted batch in a short transaction of
+// its own. The rollup therefore trails committed tickets by the time of one such write, normally milliseconds.
+// A failed write puts its deltas back for the next one. Deltas still pending when the JVM dies are lost, and
+// the rollup stays off by that much until it is rebuilt from the tickets.
+@Service
+@Slf4j
+public class TicketStatsService {
+
+    private final TicketDailyStatRepository ticketDailyStatRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TicketMetrics ticketMetrics;
+    private final ExecutorService writer;
+    private final Map<StatKey, Long> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean writeRequested = new AtomicBoolean(false);
+
+    public TicketStatsService(TicketDailyStatRepository ticketDailyStatRepository, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, TicketMetrics ticketMetrics,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.ticketDailyStatRepository = ticketDailyStatRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ticketMetrics = ticketMetrics;
+        this.writer = Executors.newSingleThreadExecutor(ThreadUtils.factory("ticket-stats-rollup", virtualThreads));
+    }
+
+    // Called by TicketService inside its transaction; the change only reaches the rollup if the ticket commits
+    public void recordCreated(Ticket ticket) {
+        Batch batch = batch();
+        batch.add(ticket, ticket.getAssignedTeam(), ticket.getStatus(), 1);
+        batch.flush();
+    }
+
+    public void recordStatusChange(Ticket ticket, TicketStatus from, TicketStatus to) {
+        Batch batch = batch();
+        batch.statusChange(ticket, from, to);
+        batch.flush();
+    }
+
+    public void recordTeamChange(Ticket ticket, Team from, Team to) {
+        Batch batch = batch();
+        batch.teamChange(ticket, from, to);
+        batch.flush();
+    }
+
+    // Collects rollup changes for many tickets and applies them together after commit
+    public Batch batch() {
+        return new Batch();
+    }
+
+    // Retries deltas left behind by a failed write
+    @Scheduled(fixedDelayString = "${ticketmanager.stats.retry-ms:10000}")
+    public void retryPending() {
+        if (!pending.isEmpty()) {
+            requestWrite();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        writer.shutdown();
+        if (writer.awaitTermination(5, TimeUnit.SECONDS)) {
+            writePending();
+        }
+    }
+
+    private void applyAfterCommit(Map<StatKey, Long> deltas) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(deltas);
+                }
+            });
+        } else {
+            enqueue(deltas);
+        }
+    }
+
+    private void enqueue(Map<StatKey, Long> deltas) {
+        deltas.forEach((key, delta) -> pending.merge(key, delta, Long::sum));
+        requestWrite();
+    }
+
+    private void requestWrite() {
+        if (writeRequested.compareAndSet(false, true)) {
+            writer.execute(() -> {
+                writeRequested.set(false);
+                writePending();
+            });
+        }
+    }
+
+    // In unique key order, so concurrent writers on several instances lock the rollup rows in the same order
+    private void writePending() {
+        List<Map.Entry<StatKey, Long>> changes = new ArrayList<>();
+        for (StatKey key : pending.keySet()) {
+            Long delta = pending.remove(key);
+            if (delta != null && delta != 0) {
+                changes.add(Map.entry(key, delta));
+            }
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        changes.sort(Map.Entry.comparingByKey(StatKey.ORDER));
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    "INSERT INTO ticket_daily_stats (stat_date, team_id, status, ticket_count) "
+                            + "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE ticket_count = ticket_count + ?",
+                    changes, changes.size(), (ps, entry) -> {
+                        ps.setObject(1, entry.getKey().statDate());
+                        ps.setLong(2, entry.getKey().teamId());
+                        ps.setInt(3, entry.getKey().status());
+                        ps.setLong(4, entry.getValue());
+                        ps.setLong(5, entry.getValue());
+                    }));
+        } catch (RuntimeException e) {
+            changes.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), Long::sum));
+            log.warn("Failed to update the ticket daily stats rollup; {} changes will be retried", changes.size(), e);
+        }
+    }
+
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (ticketDailyStatRepository.count() == 0) {
+            int rows = ticketDailyStatRepository.rebuildFromTickets();
+            log.info("Rebuilt ticket daily stats rollup with {} rows", rows);
+        }
+    }
+
+    // teamIds == null means no team restriction (admin without team filter)
+    @Transactional(readOnly = true)
+    public DashboardStats getStats(YearMonth month, Collection<Long> teamIds) {
+        DashboardStats stats = new DashboardStats();
+        stats.setMonth(month.toString());
+        for (TicketStatus status : TicketStatus.values()) {
+            stats.getByStatus().put(status, 0L);
+        }
+
+        for (Object[] row : sumByStatus(month, teamIds)) {
+            TicketStatus status = (TicketStatus) row[0];
+            long count = ((Number) row[1]).longValue();
+            stats.getByStatus().put(status, count);
+            stats.setTotal(stats.getTotal() + count);
+        }
+
+        long previousTotal = sumByStatus(month.minusMonths(1), teamIds).stream()
+                .mapToLong(row -> ((Number) row[1]).longValue())
+                .sum();
+        stats.setPreviousMonthTotal(previousTotal);
+
+        if (previousTotal == 0) {
+            stats.setTotalGrowth(stats.getTotal() > 0 ? 100 : 0);
+        } else {
+            stats.setTotalGrowth(((double) (stats.getTotal() - previousTotal) / previousTotal) * 100);
+        }
+        return stats;
+    }
+
+    private List<Object[]> sumByStatus(YearMonth month, Collection<Long> teamIds) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.atEndOfMonth();
+        if (teamIds == null) {
+            return ticketDailyStatRepository.sumByStatus(from, to);
+        }
+        if (teamIds.isEmpty()) {
+            return List.of();
+        }
+        return ticketDailyStatRepository.sumByStatusForTeams(from, to, teamIds);
+    }
+
+    private long teamKey(Team team) {
+        return team != null && team.getId() != null ? team.getId() : TicketDailyStat.NO_TEAM;
+    }
+
+    public class Batch {
+
+        private final Map<StatKey, Long> deltas = new HashMap<>();
+
+        public void statusChange(Ticket ticket, TicketStatus from, TicketStatus to) {
+            if (from == to) {
+                return;
+            }
+            add(ticket, ticket.getAssignedTeam(), from, -1);
+            add(ticket, ticket.getAssignedTeam(), to, 1);
+            ticketMetrics.recordTransition(from, to, 1);
+        }
+
+        // For set-based writers that only have the raw columns
+        public void statusChange(LocalDate createdDay, Long teamId, TicketStatus from, TicketStatus to) {
+            if (from == to || createdDay == null) {
+                return;
+            }
+            long team = teamId != null ? teamId : TicketDailyStat.NO_TEAM;
+            add(createdDay, team, from, -1);
+            add(createdDay, team, to, 1);
+            ticketMetrics.recordTransition(from, to, 1);
+        }
+
+        public void teamChange(Ticket ticket, Team from, Team to) {
+            if (teamKey(from) == teamKey(to)) {
+                return;
+            }
+            add(ticket, from, ticket.getStatus(), -1);
+            add(ticket, to, ticket.getStatus(), 1);
+        }
+
+        // Hands the collected changes over to be applied once the surrounding transaction commits
+        public void flush() {
+            if (!deltas.isEmpty()) {
+                applyAfterCommit(new HashMap<>(deltas));
+            }
+            deltas.clear();
+        }
+
+        private void add(Ticket ticket, Team team, TicketStatus status, long delta) {
+            if (ticket.getCreatedAt() == null) {
+                return;
+            }
+            add(ticket.getCreatedAt().toLocalDate(), teamKey(team), status, delta);
+        }
+
+        private void add(LocalDate createdDay, long teamId, TicketStatus status, long delta) {
+            if (status == null) {
+                return;
+            }
+            deltas.merge(new StatKey(createdDay, teamId, status.ordinal()), delta, Long::sum);
+        }
+    }
+
+    private record StatKey(LocalDate statDate, long teamId, int status) {
+
+        // Column order of uk_ticket_daily_stats
+        static final Comparator<StatKey> ORDER = Comparator.comparing(StatKey::statDate)
+                .thenComparingLong(StatKey::teamId)
+                .thenComparingInt(StatKey::status);
+    }
+}
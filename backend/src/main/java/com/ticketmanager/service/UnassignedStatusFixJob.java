@@ -0,0 +1,209 @@
+package com.ticketmanager.service;
+
+import com.ticketmanager.model.JobRun;
+import com.ticketmanager.model.JobStatus;
+import com.ticketmanager.model.Ticket;
+import com.ticketmanager.model.TicketAction;
+import com.ticketmanager.model.TicketStatus;
+import com.ticketmanager.model.User;
+import com.ticketmanager.repository.JobRunRepository;
+import com.ticketmanager.repository.TicketBatchRepository;
+import com.ticketmanager.repository.UserRepository;
+import com.ticketmanager.util.ThreadUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Resets unassigned tickets that are not OPEN back to OPEN. Works through the table in id order, one chunk per
+// transaction: lock the chunk, run a set-based UPDATE, batch-insert the action log rows and record the cursor.
+// A run stopped by shutdown or failure is resumed from its cursor the next time the job is started.
+@Service
+@Slf4j
+public class UnassignedStatusFixJob {
+
+    public static final String JOB_NAME = "fix-unassigned-status";
+    private static final String ACTION_DESCRIPTION = "System: Status corrected to OPEN (Unassigned)";
+
+    private final JobRunRepository jobRunRepository;
+    private final UserRepository userRepository;
+    private final TicketBatchRepository ticketBatchRepository;
+    private final TicketStatsService ticketStatsService;
+    private final TicketSearchService ticketSearchService;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long pauseMillis;
+
+    private final ExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile boolean stopping = false;
+
+    public UnassignedStatusFixJob(JobRunRepository jobRunRepository, UserRepository userRepository,
+            TicketBatchRepository ticketBatchRepository, TicketStatsService ticketStatsService,
+            TicketSearchService ticketSearchService, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${ticketmanager.jobs.fix-unassigned.chunk-size:500}") int chunkSize,
+            @Value("${ticketmanager.jobs.fix-unassigned.pause-ms:50}") long pauseMillis,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.jobRunRepository = jobRunRepository;
+        this.userRepository = userRepository;
+        this.ticketBatchRepository = ticketBatchRepository;
+        this.ticketStatsService = ticketStatsService;
+        this.ticketSearchService = ticketSearchService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.pauseMillis = Math.max(pauseMillis, 0);
+        this.executor = Executors.newSingleThreadExecutor(ThreadUtils.factory(JOB_NAME, virtualThreads));
+    }
+
+    // A RUNNING row left by a node that died mid-run would otherwise block resuming forever
+    @EventListener(ApplicationReadyEvent.class)
+    public void markStaleRuns() {
+        transactionTemplate.executeWithoutResult(status -> {
+            int stale = jobRunRepository.markStaleRunsInterrupted(JOB_NAME, JobStatus.RUNNING,
+                    JobStatus.INTERRUPTED, LocalDateTime.now().minusMinutes(5));
+            if (stale > 0) {
+                log.warn("Marked {} stale {} run(s) as interrupted", stale, JOB_NAME);
+            }
+        });
+    }
+
+    // Starts a run in the background, resuming the last interrupted or failed one. Returns the run being executed.
+    public JobRun start() {
+        if (!running.compareAndSet(false, true)) {
+            return getLatestRun().orElseThrow(() -> new RuntimeException("Job is starting"));
+        }
+
+        try {
+            User systemUser = userRepository.findByEmail("admin@admin.com") // Assuming an admin or system user exists
+                    .orElseThrow(() -> new RuntimeException("System user not found"));
+
+            JobRun run = jobRunRepository.findTopByJobNameOrderByStartedAtDesc(JOB_NAME)
+                    .filter(last -> last.getStatus() == JobStatus.INTERRUPTED || last.getStatus() == JobStatus.FAILED)
+                    .orElseGet(() -> JobRun.builder().jobName(JOB_NAME).startedAt(LocalDateTime.now()).build());
+            if (run.getId() != null) {
+                log.info("Resuming {} run {} after ticket {}", JOB_NAME, run.getId(), run.getLastProcessedId());
+            }
+            run.setStatus(JobStatus.RUNNING);
+            run.setError(null);
+            run.setFinishedAt(null);
+            run.setUpdatedAt(LocalDateTime.now());
+            JobRun saved = jobRunRepository.save(run);
+
+            executor.execute(() -> execute(saved, systemUser));
+            return saved;
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    public java.util.Optional<JobRun> getLatestRun() {
+        return jobRunRepository.findTopByJobNameOrderByStartedAtDesc(JOB_NAME);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopping = true;
+        executor.shutdown();
+    }
+
+    private void execute(JobRun run, User systemUser) {
+        try {
+            while (!stopping) {
+                Integer processed = transactionTemplate.execute(status -> processChunk(run, systemUser));
+                if (processed == null || processed == 0) {
+                    break;
+                }
+                if (pauseMillis > 0) {
+                    Thread.sleep(pauseMillis);
+                }
+            }
+            finish(run, stopping ? JobStatus.INTERRUPTED : JobStatus.COMPLETED, null);
+            log.info("{} run {} {} after {} tickets", JOB_NAME, run.getId(), run.getStatus(), run.getProcessedCount());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finish(run, JobStatus.INTERRUPTED, null);
+        } catch (RuntimeException e) {
+            log.error("{} run {} failed after ticket {}", JOB_NAME, run.getId(), run.getLastProcessedId(), e);
+            finish(run, JobStatus.FAILED, e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int processChunk(JobRun run, User systemUser) {
+        List<ChunkRow> rows = jdbcTemplate.query(
+                "SELECT id, status, created_at, assigned_team_id FROM tickets "
+                        + "WHERE assigned_to_id IS NULL AND status <> ? AND id > ? ORDER BY id LIMIT ? FOR UPDATE",
+                (rs, rowNum) -> new ChunkRow(rs.getLong("id"), TicketStatus.values()[rs.getInt("status")],
+                        rs.getTimestamp("created_at") != null ? rs.getTimestamp("created_at").toLocalDateTime()
+                                .toLocalDate() : null,
+                        rs.getObject("assigned_team_id", Long.class)),
+                TicketStatus.OPEN.ordinal(), run.getLastProcessedId(), chunkSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = rows.stream().map(ChunkRow::id).toList();
+        namedJdbcTemplate.update("UPDATE tickets SET status = :open, status_updated_at = :now, updated_at = :now "
+                + "WHERE id IN (:ids)", new MapSqlParameterSource()
+                        .addValue("open", TicketStatus.OPEN.ordinal())
+                        .addValue("now", Timestamp.valueOf(now))
+                        .addValue("ids", ids));
+
+        List<TicketAction> actions = rows.stream()
+                .map(row -> TicketAction.builder()
+                        .ticket(Ticket.builder().id(row.id()).build())
+                        .actor(systemUser)
+                        .description(ACTION_DESCRIPTION)
+                        .timestamp(now)
+                        .build())
+                .toList();
+        ticketBatchRepository.insertActions(actions);
+
+        TicketStatsService.Batch stats = ticketStatsService.batch();
+        rows.forEach(row -> stats.statusChange(row.createdDay(), row.teamId(), row.status(), TicketStatus.OPEN));
+        stats.flush();
+        ticketSearchService.reindex(ids);
+
+        run.setLastProcessedId(ids.get(ids.size() - 1));
+        run.setProcessedCount(run.getProcessedCount() + rows.size());
+        run.setUpdatedAt(now);
+        jobRunRepository.save(run);
+        return rows.size();
+    }
+
+    private void finish(JobRun run, JobStatus status, String error) {
+        run.setStatus(status);
+        run.setError(error);
+        run.setUpdatedAt(LocalDateTime.now());
+        if (status == JobStatus.COMPLETED) {
+            run.setFinishedAt(LocalDateTime.now());
+        }
+        jobRunRepository.save(run);
+    }
+
+    private record ChunkRow(Long id, TicketStatus status, LocalDate createdDay, Long teamId) {
+    }
+}
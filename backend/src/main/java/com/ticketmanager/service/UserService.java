@@ -1,5 +1,6 @@
 package com.ticketmanager.service;
 
+import com.ticketmanager.model.EmailDelivery;
 import com.ticketmanager.model.Team;
 import com.ticketmanager.model.User;
 import com.ticketmanager.repository.TeamRepository;
@@ -17,6 +18,8 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final TeamRepository teamRepository;
+    private final CurrentUserResolver currentUserResolver;
+    private final TeamMembershipIndex teamMembershipIndex;
 
     public List<User> getAllUsers(boolean includeInactive) {
         if (includeInactive) {
@@ -26,12 +29,16 @@ public class UserService {
     }
 
     public User getCurrentUser(String email) {
-        User user = userRepository.findByEmail(email)
+        CurrentUserResolver.CurrentUser current = currentUserResolver.resolve(email);
+        User user = userRepository.findById(current.getId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        // Include teams where user is leader
-        List<Team> ledTeams = teamRepository.findByLeader(user);
-        user.getTeams().addAll(ledTeams);
+        // Include teams where user is leader; the resolver already knows which ones, so only load missing ones
+        java.util.Set<Long> missing = new java.util.HashSet<>(current.getTeamIds());
+        user.getTeams().forEach(team -> missing.remove(team.getId()));
+        if (!missing.isEmpty()) {
+            user.getTeams().addAll(teamRepository.findAllById(missing));
+        }
 
         return user;
     }
@@ -55,12 +62,26 @@ public class UserService {
         if (userDetails.getPreferredLanguage() != null) {
             user.setPreferredLanguage(userDetails.getPreferredLanguage());
         }
+        if (userDetails.getEmailDelivery() != null) {
+            user.setEmailDelivery(userDetails.getEmailDelivery());
+        }
 
         if (teamIds != null) {
             List<Team> teams = teamRepository.findAllById(teamIds);
             user.setTeams(new HashSet<>(teams));
         }
 
+        User savedUser = userRepository.save(user);
+        currentUserResolver.invalidate(savedUser.getEmail());
+        teamMembershipIndex.refreshUser(savedUser.getId());
+        return savedUser;
+    }
+
+    @Transactional
+    public User updateEmailDelivery(String email, EmailDelivery emailDelivery) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        user.setEmailDelivery(emailDelivery);
         return userRepository.save(user);
     }
 }
@@ -0,0 +1,34 @@
+package com.ticketmanager.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public class CursorUtils {
+
+    private static final String SEPARATOR = "|";
+
+    public static String encode(LocalDateTime createdAt, Long id) {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(SEPARATOR);
+            if (index < 0) {
+                throw new RuntimeException("Invalid cursor");
+            }
+            return new Cursor(LocalDateTime.parse(raw.substring(0, index)),
+                    Long.parseLong(raw.substring(index + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    public record Cursor(LocalDateTime createdAt, Long id) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.ticketmanager.util;
+
+import java.util.concurrent.ThreadFactory;
+
+// Thread factories for the application's own executors. With spring.threads.virtual.enabled (the virtual-threads
+// profile) they create virtual threads, so blocking JDBC and SMTP calls park instead of holding a platform thread;
+// otherwise daemon platform threads, so they never keep the JVM alive.
+public class ThreadUtils {
+
+    public static ThreadFactory factory(String name, boolean virtual) {
+        return virtual
+                ? Thread.ofVirtual().name(name).factory()
+                : Thread.ofPlatform().name(name).daemon(true).factory();
+    }
+
+    // Threads named prefix1, prefix2, ...
+    public static ThreadFactory numberedFactory(String prefix, boolean virtual) {
+        return virtual
+                ? Thread.ofVirtual().name(prefix, 1).factory()
+                : Thread.ofPlatform().name(prefix, 1).daemon(true).factory();
+    }
+}
@@ -0,0 +1,166 @@
+package com.ticketmanager.config;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfiguration;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import com.ticketmanager.model.Team;
+import com.ticketmanager.model.Ticket;
+import com.ticketmanager.model.TicketAction;
+import com.ticketmanager.model.TicketPriority;
+import com.ticketmanager.model.TicketStatus;
+import com.ticketmanager.model.User;
+import com.ticketmanager.repository.TeamRepository;
+import com.ticketmanager.repository.TicketRepository;
+import com.ticketmanager.repository.UserRepository;
+import com.ticketmanager.service.CurrentUserResolver;
+import com.ticketmanager.service.TeamMembershipIndex;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oauth2Login;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The ticket list and detail budgets, asserted against MariaDB with the budgets enforced, so a request over its
+// budget fails. Every request runs once with the current-user cache cold and once warm, as a team member and as
+// an admin. The statement counts come from the JDBC layer and so include the JdbcTemplate statements.
+@SpringBootTest(properties = {
+        "ticketmanager.query-budget.enabled=true",
+        "ticketmanager.query-budget.enforce=true",
+        "ticketmanager.retention.enabled=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTest {
+
+    private static final String MEMBER = "budget-member@example.com";
+    private static final String ADMIN = "budget-admin@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CurrentUserResolver currentUserResolver;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TeamMembershipIndex teamMembershipIndex;
+
+    private Long ticketId;
+
+    // Same driver and options as application.yml; the server stops with the JVM
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws ManagedProcessException {
+        DBConfigurationBuilder builder = DBConfigurationBuilder.newBuilder();
+        builder.setPort(0); // any free port
+        DBConfiguration configuration = builder.build();
+        DB db = DB.newEmbeddedDB(configuration);
+        db.start();
+        db.createDB("ticket_db");
+        registry.add("spring.datasource.url", () -> "jdbc:mysql://localhost:" + configuration.getPort() + "/ticket_db"
+                + "?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true&rewriteBatchedStatements=true");
+        registry.add("spring.datasource.username", () -> "root");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    // More tickets than a page, each with a few actions, so the list needs its count and the detail its actions
+    @BeforeAll
+    void seed() {
+        Team team = teamRepository.save(Team.builder().name("Budget Team").description("Query budget test").build());
+        User member = userRepository.save(User.builder().email(MEMBER).name("Budget Member").role(User.Role.USER)
+                .teams(new HashSet<>(Set.of(team))).build());
+        userRepository.save(User.builder().email(ADMIN).name("Budget Admin").role(User.Role.ADMIN).build());
+
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 1; i <= 30; i++) {
+            Ticket ticket = Ticket.builder()
+                    .ticketNumber(String.format("2000%06d", i))
+                    .title("Printer " + i)
+                    .description("Printer " + i + " is out of toner")
+                    .status(TicketStatus.OPEN)
+                    .priority(TicketPriority.MEDIUM)
+                    .createdBy(member)
+                    .assignedTeam(team)
+                    .build();
+            for (int a = 1; a <= 3; a++) {
+                ticket.getActions().add(TicketAction.builder().description("Action " + a).ticket(ticket)
+                        .actor(member).build());
+            }
+            tickets.add(ticket);
+        }
+        ticketId = ticketRepository.saveAll(tickets).get(0).getId();
+        // Written behind the application's back, so the in-memory index has to be rebuilt
+        teamMembershipIndex.rebuild();
+    }
+
+    @Test
+    void ticketListStaysWithinBudget() throws Exception {
+        assertWithinBudget("GET /api/tickets", "/api/tickets", "/api/tickets?page=0&size=20&sort=createdAt,desc");
+        assertWithinBudget("GET /api/tickets", "/api/tickets",
+                "/api/tickets?page=0&size=20&sort=createdAt,desc&full=true");
+        assertWithinBudget("GET /api/tickets/cursor", "/api/tickets/cursor", "/api/tickets/cursor?size=20");
+    }
+
+    @Test
+    void ticketDetailStaysWithinBudget() throws Exception {
+        assertWithinBudget("GET /api/tickets/*", "/api/tickets/{id}", "/api/tickets/" + ticketId);
+    }
+
+    // The statements are read from the per-endpoint summary the filter records, tagged with the mapped pattern
+    private void assertWithinBudget(String budgetKey, String pattern, String uri) throws Exception {
+        int budget = QueryBudgetFilter.BUDGETS.get(budgetKey);
+        for (String email : List.of(MEMBER, ADMIN)) {
+            currentUserResolver.invalidate(email);
+            for (String round : List.of("cold", "warm")) {
+                DistributionSummary statements = DistributionSummary.builder(QueryBudgetFilter.STATEMENTS_METRIC)
+                        .tag("endpoint", "GET " + pattern)
+                        .register(meterRegistry);
+                double before = statements.totalAmount();
+
+                mockMvc.perform(get(uri).with(oauth2Login().oauth2User(principal(email))))
+                        .andExpect(status().isOk());
+
+                assertThat(statements.totalAmount() - before)
+                        .as("%s %s (%s cache)", email, uri, round)
+                        .isPositive()
+                        .isLessThanOrEqualTo(budget);
+            }
+        }
+    }
+
+    // The attributes the Google login produces
+    private static DefaultOAuth2User principal(String email) {
+        return new DefaultOAuth2User(AuthorityUtils.createAuthorityList("OAUTH2_USER"),
+                Map.of("sub", email, "email", email, "name", email), "email");
+    }
+}
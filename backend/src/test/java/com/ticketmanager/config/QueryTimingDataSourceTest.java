@@ -0,0 +1,74 @@
+package com.ticketmanager.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QueryTimingDataSourceTest {
+
+    private PreparedStatement statement;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        statement = mock(PreparedStatement.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.supportsBatchUpdates()).thenReturn(true);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.getConnection()).thenReturn(connection);
+        when(statement.executeUpdate()).thenReturn(1);
+        when(statement.executeBatch()).thenReturn(new int[] { 1, 1 });
+        // No slow query log, as with query stats off
+        jdbcTemplate = new JdbcTemplate(new QueryTimingDataSource(target, null));
+        StatementCounter.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        StatementCounter.reset();
+    }
+
+    // Statements Hibernate never sees, such as the counter upserts and batch inserts, count towards the budget
+    @Test
+    void countsJdbcTemplateStatements() {
+        jdbcTemplate.update("UPDATE notification_counters SET unread = unread + 1 WHERE user_id = ?", 1L);
+        jdbcTemplate.update("UPDATE notification_counters SET unread = unread + 1 WHERE user_id = ?", 2L);
+        jdbcTemplate.batchUpdate("INSERT INTO notifications (recipient_id) VALUES (?)",
+                List.of(new Object[] { 1L }, new Object[] { 2L }));
+
+        // The batch is one round trip
+        assertThat(StatementCounter.count()).isEqualTo(3);
+    }
+
+    @Test
+    void failsTheStatementThatGoesOverTheLimit() throws Exception {
+        StatementCounter.reset(2);
+        jdbcTemplate.update("DELETE FROM notifications WHERE id = ?", 1L);
+        jdbcTemplate.update("DELETE FROM notifications WHERE id = ?", 2L);
+
+        assertThatThrownBy(() -> jdbcTemplate.update("DELETE FROM notifications WHERE id = ?", 3L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("DELETE FROM notifications");
+        // The statement over the budget never reaches the database
+        verify(statement, times(2)).executeUpdate();
+    }
+}
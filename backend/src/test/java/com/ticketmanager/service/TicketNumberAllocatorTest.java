@@ -0,0 +1,117 @@
+package com.ticketmanager.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class TicketNumberAllocatorTest {
+
+    private static final int BLOCK_SIZE = 10;
+
+    private InMemoryAllocator allocator;
+
+    @AfterEach
+    void tearDown() {
+        allocator.shutdown();
+    }
+
+    // More concurrent creates than pool connections, each holding its connection while it takes a number, as
+    // createTicket does inside its transaction. Blocks run out over and over; every create must still get a unique
+    // number without a reservation ever needing one of the callers' connections.
+    @Test
+    void concurrentCreatesExhaustingBlocksGetUniqueNumbers() throws Exception {
+        allocator = new InMemoryAllocator();
+        int creators = 32;
+        int ticketsEach = 25;
+        Semaphore pool = new Semaphore(4);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(creators);
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (int i = 0; i < creators; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                List<String> numbers = new ArrayList<>();
+                for (int n = 0; n < ticketsEach; n++) {
+                    if (!pool.tryAcquire(5, TimeUnit.SECONDS)) {
+                        throw new IllegalStateException("Connection pool exhausted");
+                    }
+                    try {
+                        numbers.add(allocator.nextTicketNumber());
+                    } finally {
+                        pool.release();
+                    }
+                }
+                return numbers;
+            }));
+        }
+        start.countDown();
+
+        Set<String> numbers = new HashSet<>();
+        for (Future<List<String>> result : results) {
+            numbers.addAll(result.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertThat(numbers).hasSize(creators * ticketsEach);
+        assertThat(numbers).allMatch(number -> number.startsWith(String.valueOf(Year.now().getValue())));
+        assertThat(allocator.reservingThreads).containsOnly("ticket-number-reserver");
+        // At most one prefetched block goes unused
+        assertThat(allocator.reservations.get()).isLessThanOrEqualTo(creators * ticketsEach / BLOCK_SIZE + 1);
+    }
+
+    @Test
+    void reservesTheNextBlockBeforeTheCurrentOneRunsOut() throws Exception {
+        allocator = new InMemoryAllocator();
+        for (int i = 0; i < BLOCK_SIZE - 1; i++) {
+            allocator.nextTicketNumber();
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while (allocator.reservations.get() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(allocator.reservations.get()).isEqualTo(2);
+    }
+
+    // ticket_number_sequences in memory, with a reservation as slow as a round trip under load
+    private static class InMemoryAllocator extends TicketNumberAllocator {
+
+        private final AtomicLong nextValue = new AtomicLong(1);
+        private final AtomicInteger reservations = new AtomicInteger();
+        private final Set<String> reservingThreads = ConcurrentHashMap.newKeySet();
+
+        InMemoryAllocator() {
+            super(mock(DataSource.class), BLOCK_SIZE, false);
+        }
+
+        @Override
+        Block reserveBlock(int year) {
+            reservingThreads.add(Thread.currentThread().getName());
+            reservations.incrementAndGet();
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            long start = nextValue.getAndAdd(BLOCK_SIZE);
+            return new Block(year, start, start + BLOCK_SIZE);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.ticketmanager.service;
+
+import com.ticketmanager.model.Team;
+import com.ticketmanager.model.Ticket;
+import com.ticketmanager.model.TicketStatus;
+import com.ticketmanager.repository.TicketDailyStatRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TicketStatsServiceTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2026, 3, 14, 9, 30);
+
+    private final List<List<Object>> written = new CopyOnWriteArrayList<>();
+    private TicketStatsService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        // Records the (day, team, status, delta) of each upsert as the setter binds it
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+                    Collection<Object> rows = invocation.getArgument(1);
+                    ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+                    for (Object row : rows) {
+                        List<Object> values = new ArrayList<>();
+                        PreparedStatement ps = mock(PreparedStatement.class, call -> {
+                            if (call.getMethod().getName().startsWith("set") && (int) call.getArgument(0) <= 4) {
+                                values.add(call.getArgument(1));
+                            }
+                            return null;
+                        });
+                        setter.setValues(ps, row);
+                        written.add(values);
+                    }
+                    return new int[0][];
+                });
+        service = new TicketStatsService(mock(TicketDailyStatRepository.class), jdbcTemplate,
+                mock(PlatformTransactionManager.class), mock(TicketMetrics.class), false);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        service.shutdown();
+    }
+
+    @Test
+    void appliesChangesOnlyAfterCommit() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        service.recordCreated(ticket(7L, TicketStatus.OPEN));
+        service.recordStatusChange(ticket(7L, TicketStatus.IN_PROGRESS), TicketStatus.OPEN, TicketStatus.IN_PROGRESS);
+        Thread.sleep(50);
+        assertThat(written).isEmpty();
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        awaitWrites(1);
+        Thread.sleep(50);
+        // Created as OPEN and moved on, so only IN_PROGRESS is left
+        Map<List<Object>, Long> totals = new HashMap<>();
+        written.forEach(row -> totals.merge(row.subList(0, 3), (Long) row.get(3), Long::sum));
+        totals.values().removeIf(total -> total == 0);
+        assertThat(totals).containsExactly(
+                Map.entry(List.of(CREATED.toLocalDate(), 7L, TicketStatus.IN_PROGRESS.ordinal()), 1L));
+    }
+
+    @Test
+    void dropsChangesOfRolledBackTransactions() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        service.recordCreated(ticket(7L, TicketStatus.OPEN));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        service.retryPending();
+        Thread.sleep(50);
+        assertThat(written).isEmpty();
+    }
+
+    @Test
+    void writesInUniqueKeyOrder() throws Exception {
+        TicketStatsService.Batch batch = service.batch();
+        batch.statusChange(LocalDate.of(2026, 3, 2), 9L, TicketStatus.OPEN, TicketStatus.CLOSED);
+        batch.statusChange(LocalDate.of(2026, 3, 1), 3L, TicketStatus.OPEN, TicketStatus.CLOSED);
+        batch.statusChange(LocalDate.of(2026, 3, 1), null, TicketStatus.OPEN, TicketStatus.CLOSED);
+        batch.flush();
+
+        awaitWrites(6);
+        assertThat(written).extracting(row -> row.subList(0, 3)).containsExactly(
+                List.of(LocalDate.of(2026, 3, 1), 0L, TicketStatus.OPEN.ordinal()),
+                List.of(LocalDate.of(2026, 3, 1), 0L, TicketStatus.CLOSED.ordinal()),
+                List.of(LocalDate.of(2026, 3, 1), 3L, TicketStatus.OPEN.ordinal()),
+                List.of(LocalDate.of(2026, 3, 1), 3L, TicketStatus.CLOSED.ordinal()),
+                List.of(LocalDate.of(2026, 3, 2), 9L, TicketStatus.OPEN.ordinal()),
+                List.of(LocalDate.of(2026, 3, 2), 9L, TicketStatus.CLOSED.ordinal()));
+    }
+
+    private void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(status);
+        }
+    }
+
+    private void awaitWrites(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (written.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static Ticket ticket(Long teamId, TicketStatus status) {
+        return Ticket.builder()
+                .status(status)
+                .assignedTeam(Team.builder().id(teamId).build())
+                .createdAt(CREATED)
+                .build();
+    }
+}
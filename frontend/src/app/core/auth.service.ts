@@ -12,6 +12,7 @@ export interface User {
     teams?: { id: number; name: string }[];
     active?: boolean;
     preferredLanguage?: string;
+    emailDelivery?: 'IMMEDIATE' | 'DIGEST' | null;
 }
 
 @Injectable({
@@ -9,3 +9,18 @@ export interface Notification {
     ticket: Ticket;
     createdAt: string;
 }
+
+export interface NotificationEvent {
+    id: number;
+    message: string;
+    createdAt: string;
+    ticketId?: number;
+    ticketNumber?: string;
+}
+
+export interface CursorPage<T> {
+    content: T[];
+    nextCursor?: string;
+    hasNext: boolean;
+    totalElements?: number;
+}
@@ -1,8 +1,9 @@
-import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { Injectable, NgZone } from '@angular/core';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { environment } from '../../environments/environment';
-import { Notification } from './notification.model';
+import { CursorPage, Notification, NotificationEvent } from './notification.model';
+import { Ticket } from './ticket.service';
 
 @Injectable({
     providedIn: 'root'
@@ -10,12 +11,52 @@ import { Notification } from './notification.model';
 export class NotificationService {
     private apiUrl = `${environment.apiUrl}/notifications`;
 
-    constructor(private http: HttpClient) { }
+    constructor(private http: HttpClient, private zone: NgZone) { }
 
     getUnreadNotifications(): Observable<Notification[]> {
         return this.http.get<Notification[]>(this.apiUrl, { withCredentials: true });
     }
 
+    getUnreadPage(cursor?: string, size = 20): Observable<CursorPage<Notification>> {
+        let params = new HttpParams().set('size', size);
+        if (cursor) {
+            params = params.set('cursor', cursor);
+        }
+        return this.http.get<CursorPage<Notification>>(`${this.apiUrl}/page`, { params, withCredentials: true });
+    }
+
+    getUnreadCount(): Observable<number> {
+        return this.http.get<number>(`${this.apiUrl}/unread-count`, { withCredentials: true });
+    }
+
+    // Marks everything, or only what was listed up to and including the given page cursor
+    markAllAsRead(upTo?: string): Observable<number> {
+        const params = upTo ? new HttpParams().set('upTo', upTo) : new HttpParams();
+        return this.http.put<number>(`${this.apiUrl}/read-all`, {}, { params, withCredentials: true });
+    }
+
+    // New notifications pushed by the server. EventSource reconnects on its own and sends Last-Event-ID,
+    // so the server replays whatever was missed while disconnected. When that is more than a page it sends
+    // "resync" instead, and onResync should reload the list.
+    streamNotifications(lastId?: number, onResync?: () => void): Observable<Notification> {
+        return new Observable<Notification>(subscriber => {
+            const url = lastId !== undefined ? `${this.apiUrl}/stream?lastEventId=${lastId}` : `${this.apiUrl}/stream`;
+            const source = new EventSource(url, { withCredentials: true });
+            source.addEventListener('notification', (event: MessageEvent) => {
+                const payload: NotificationEvent = JSON.parse(event.data);
+                this.zone.run(() => subscriber.next({
+                    id: payload.id,
+                    message: payload.message,
+                    read: false,
+                    createdAt: payload.createdAt,
+                    ticket: payload.ticketId ? { id: payload.ticketId, ticketNumber: payload.ticketNumber } as Ticket : undefined
+                } as Notification));
+            });
+            source.addEventListener('resync', () => this.zone.run(() => onResync?.()));
+            return () => source.close();
+        });
+    }
+
     markAsRead(id: number): Observable<void> {
         return this.http.put<void>(`${this.apiUrl}/${id}/read`, {}, { withCredentials: true });
     }
@@ -4,6 +4,7 @@ import { Observable } from 'rxjs';
 import { User } from './auth.service';
 import { Team } from './team.service';
 import { environment } from '../../environments/environment';
+import { CursorPage } from './notification.model';
 
 export type TicketStatus = 'OPEN' | 'IN_PROGRESS' | 'PAUSED' | 'RESOLVED' | 'CLOSED';
 
@@ -41,6 +42,24 @@ export interface TicketFilters {
     statusChangedFrom?: string;
 }
 
+export interface TicketFacets {
+    total: number;
+    byStatus: { [status: string]: number };
+    byPriority: { [priority: string]: number };
+    byAssignedTeam: { [teamId: string]: number };
+    byAssignee: { [userId: string]: number };
+    withoutTeam: number;
+    unassigned: number;
+}
+
+export interface DashboardStats {
+    month: string;
+    total: number;
+    byStatus: { [status: string]: number };
+    previousMonthTotal: number;
+    totalGrowth: number;
+}
+
 export interface Page<T> {
     content: T[];
     totalElements: number;
@@ -78,6 +97,52 @@ export class TicketService {
         return this.http.get<Page<Ticket>>(this.apiUrl, { params, withCredentials: true });
     }
 
+    // Keyset pages, newest first; pass the previous page's nextCursor to continue
+    getTicketsByCursor(filters?: TicketFilters, cursor?: string, size = 20): Observable<CursorPage<Ticket>> {
+        let params = new HttpParams().set('size', size.toString());
+
+        if (cursor) {
+            params = params.set('cursor', cursor);
+        }
+
+        if (filters) {
+            if (filters.assignedTo) params = params.set('assignedTo', filters.assignedTo);
+            if (filters.assignedTeam) params = params.set('assignedTeam', filters.assignedTeam);
+            if (filters.startDate) params = params.set('startDate', filters.startDate);
+            if (filters.endDate) params = params.set('endDate', filters.endDate);
+            if (filters.assignedToMe) params = params.set('assignedToMe', filters.assignedToMe);
+            if (filters.status) params = params.set('status', filters.status);
+            if (filters.statusChangedFrom) params = params.set('statusChangedFrom', filters.statusChangedFrom);
+        }
+        return this.http.get<CursorPage<Ticket>>(`${this.apiUrl}/cursor`, { params, withCredentials: true });
+    }
+
+    getTicketFacets(filters?: TicketFilters): Observable<TicketFacets> {
+        let params = new HttpParams();
+
+        if (filters) {
+            if (filters.assignedTo) params = params.set('assignedTo', filters.assignedTo);
+            if (filters.assignedTeam) params = params.set('assignedTeam', filters.assignedTeam);
+            if (filters.startDate) params = params.set('startDate', filters.startDate);
+            if (filters.endDate) params = params.set('endDate', filters.endDate);
+            if (filters.assignedToMe) params = params.set('assignedToMe', filters.assignedToMe);
+            if (filters.status) params = params.set('status', filters.status);
+            if (filters.statusChangedFrom) params = params.set('statusChangedFrom', filters.statusChangedFrom);
+        }
+        return this.http.get<TicketFacets>(`${this.apiUrl}/facets`, { params, withCredentials: true });
+    }
+
+    searchTickets(query: string, limit = 20): Observable<Ticket[]> {
+        const params = new HttpParams().set('q', query).set('limit', limit);
+        return this.http.get<Ticket[]>(`${this.apiUrl}/search`, { params, withCredentials: true });
+    }
+
+    getDashboardStats(teamId?: number | null): Observable<DashboardStats> {
+        let params = new HttpParams();
+        if (teamId) params = params.set('teamId', teamId);
+        return this.http.get<DashboardStats>(`${this.apiUrl}/stats`, { params, withCredentials: true });
+    }
+
     getTicket(id: number): Observable<Ticket> {
         return this.http.get<Ticket>(`${this.apiUrl}/${id}`, { withCredentials: true });
     }
@@ -19,6 +19,13 @@ export class UserService {
         });
     }
 
+    updateEmailDelivery(mode: 'IMMEDIATE' | 'DIGEST'): Observable<User> {
+        return this.http.put<User>(`${this.apiUrl}/me/email-delivery`, null, {
+            params: { mode },
+            withCredentials: true
+        });
+    }
+
     updateUser(id: number, user: Partial<User>, teamIds: number[]): Observable<User> {
         return this.http.put<User>(`${this.apiUrl}/${id}`, { user, teamIds }, { withCredentials: true });
     }
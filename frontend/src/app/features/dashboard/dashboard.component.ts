@@ -1,4 +1,4 @@
-import { Component, OnInit, signal, computed } from '@angular/core';
+import { Component, OnInit, OnDestroy, signal, computed } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
 import { RouterLink } from '@angular/router';
@@ -9,9 +9,10 @@ import { TagModule } from 'primeng/tag';
 import { ButtonModule } from 'primeng/button';
 import { MeterGroupModule } from 'primeng/metergroup';
 import { TranslateModule } from '@ngx-translate/core';
-import { TicketService, Ticket, TicketStatus } from '../../core/ticket.service';
+import { TicketService, Ticket, TicketStatus, TicketFilters, DashboardStats } from '../../core/ticket.service';
 import { AuthService, User } from '../../core/auth.service';
 import { TeamService, Team } from '../../core/team.service';
+import { Subject, Subscription, debounceTime, distinctUntilChanged, switchMap, of } from 'rxjs';
 
 @Component({
   selector: 'app-dashboard',
@@ -30,33 +31,43 @@ import { TeamService, Team } from '../../core/team.service';
   ],
   templateUrl: './dashboard.component.html'
 })
-export class DashboardComponent implements OnInit {
+export class DashboardComponent implements OnInit, OnDestroy {
   currentUser = this.authService.currentUser;
-  allTickets = signal<Ticket[]>([]);
-  tickets = signal<Ticket[]>([]);
+  // The month's newest tickets, one keyset page at a time
+  recentTickets = signal<Ticket[]>([]);
+  recentCursor = signal<string | undefined>(undefined);
+  hasMoreRecent = signal(false);
+  loadingRecent = signal(false);
+  // Filtered on the server for non-admins
+  myInProgress = signal<Ticket[]>([]);
+  myPaused = signal<Ticket[]>([]);
+  // Set while a search query is active; every list is then taken from the results
+  searchResults = signal<Ticket[] | null>(null);
   teams = signal<Team[]>([]);
-  previousMonthTotal = signal<number>(0);
+  stats = signal<DashboardStats | null>(null);
+
+  private static readonly PAGE_SIZE = 20;
+  private filters: TicketFilters = {};
 
   searchQuery = '';
+  private searchTerms = new Subject<string>();
+  private searchSubscription?: Subscription;
+  private recentSubscription?: Subscription;
   selectedTeamId: number | null = null;
   currentDate = new Date();
 
+  // KPIs come from the server-side rollup instead of counting the downloaded tickets
   kpis = computed(() => {
-    const list = this.tickets() || [];
+    const stats = this.stats();
     return {
-      total: list.length,
-      open: list.filter(t => t.status === 'OPEN').length,
-      inProgress: list.filter(t => t.status === 'IN_PROGRESS').length,
-      resolved: list.filter(t => t.status === 'RESOLVED').length
+      total: stats?.total || 0,
+      open: stats?.byStatus['OPEN'] || 0,
+      inProgress: stats?.byStatus['IN_PROGRESS'] || 0,
+      resolved: stats?.byStatus['RESOLVED'] || 0
     };
   });
 
-  totalGrowth = computed(() => {
-    const current = this.kpis().total;
-    const previous = this.previousMonthTotal();
-    if (previous === 0) return current > 0 ? 100 : 0;
-    return ((current - previous) / previous) * 100;
-  });
+  totalGrowth = computed(() => this.stats()?.totalGrowth || 0);
 
   // Icon class for growth direction
   growthIcon = computed(() => this.totalGrowth() >= 0 ? 'pi-arrow-up' : 'pi-arrow-down');
@@ -75,7 +86,7 @@ export class DashboardComponent implements OnInit {
   });
 
   primaryList = computed(() => {
-    const list = this.tickets() || [];
+    const list = this.searchResults() ?? (this.isAdmin() ? this.recentTickets() : this.myInProgress());
     if (this.isAdmin()) {
       // Last 10 tickets
       return [...list].sort((a, b) => new Date(b.createdAt).getTime() - new Date(a.createdAt).getTime()).slice(0, 10);
@@ -87,7 +98,7 @@ export class DashboardComponent implements OnInit {
   });
 
   secondaryList = computed(() => {
-    const list = this.tickets() || [];
+    const list = this.searchResults() ?? (this.isAdmin() ? this.recentTickets() : this.myPaused());
     if (this.isAdmin()) {
       // Critical Tickets
       return list.filter(t => t.priority === 'CRITICAL');
@@ -99,7 +110,7 @@ export class DashboardComponent implements OnInit {
   });
 
   teamTickets = computed(() => {
-    const list = this.tickets() || [];
+    const list = this.searchResults() ?? this.recentTickets();
     const user = this.currentUser();
     // Assuming we can filter by team ID if we knew it.
     // But ticket doesn't always have assignedTeam if assigned to user.
@@ -123,12 +134,24 @@ export class DashboardComponent implements OnInit {
   ngOnInit() {
     this.loadData();
     this.teamService.getTeams().subscribe(teams => this.teams.set(teams));
+
+    // Search runs on the server index; an empty query goes back to the month's tickets
+    this.searchSubscription = this.searchTerms.pipe(
+      debounceTime(300),
+      distinctUntilChanged(),
+      switchMap(query => query ? this.ticketService.searchTickets(query, 100) : of(null))
+    ).subscribe(results => this.searchResults.set(results));
+  }
+
+  ngOnDestroy() {
+    this.searchSubscription?.unsubscribe();
+    this.recentSubscription?.unsubscribe();
   }
 
   loadData() {
     // If admin and team selected, filter by team.
     // Else fetch all (or filtered by user permissions in backend).
-    const filters: any = {};
+    const filters: TicketFilters = {};
     if (this.selectedTeamId) {
       filters.assignedTeam = this.selectedTeamId;
     }
@@ -149,41 +172,41 @@ export class DashboardComponent implements OnInit {
     filters.startDate = formatDate(firstDay);
     filters.endDate = formatDate(lastDay);
 
-    // Fetch a large page to simulate "all" for dashboard
-    this.ticketService.getTickets(0, 1000, filters).subscribe(page => {
-      this.allTickets.set(page.content);
-      this.onSearch(); // Apply search if any
-    });
-
-    // Fetch previous month data
-    const prevDate = new Date();
-    prevDate.setMonth(prevDate.getMonth() - 1);
-    const prevFirstDay = new Date(prevDate.getFullYear(), prevDate.getMonth(), 1);
-    const prevLastDay = new Date(prevDate.getFullYear(), prevDate.getMonth() + 1, 0);
+    // A page of the newest tickets rather than the whole month; "load more" fetches the next one
+    this.filters = filters;
+    this.recentTickets.set([]);
+    this.recentCursor.set(undefined);
+    this.loadMoreRecent();
+
+    if (!this.isAdmin()) {
+      this.ticketService.getTicketsByCursor({ ...filters, assignedToMe: true, status: 'IN_PROGRESS' }, undefined, DashboardComponent.PAGE_SIZE)
+        .subscribe(page => this.myInProgress.set(page.content));
+      this.ticketService.getTicketsByCursor({ ...filters, assignedToMe: true, status: 'PAUSED' }, undefined, DashboardComponent.PAGE_SIZE)
+        .subscribe(page => this.myPaused.set(page.content));
+    }
 
-    const prevFilters: any = { ...filters };
-    prevFilters.startDate = formatDate(prevFirstDay);
-    prevFilters.endDate = formatDate(prevLastDay);
+    this.ticketService.getDashboardStats(this.selectedTeamId).subscribe(stats => {
+      this.stats.set(stats);
+    });
+  }
 
-    this.ticketService.getTickets(0, 1, prevFilters).subscribe(page => {
-      this.previousMonthTotal.set(page.totalElements);
+  loadMoreRecent() {
+    // A team change restarts the list, so a page still in flight for the old filters is dropped
+    this.recentSubscription?.unsubscribe();
+    this.loadingRecent.set(true);
+    this.recentSubscription = this.ticketService.getTicketsByCursor(this.filters, this.recentCursor(), DashboardComponent.PAGE_SIZE).subscribe({
+      next: page => {
+        this.recentTickets.update(current => [...current, ...page.content]);
+        this.recentCursor.set(page.nextCursor);
+        this.hasMoreRecent.set(page.hasNext);
+        this.loadingRecent.set(false);
+      },
+      error: () => this.loadingRecent.set(false)
     });
   }
 
   onSearch() {
-    const query = this.searchQuery.trim().toLowerCase();
-    const all = this.allTickets();
-
-    if (!query) {
-      this.tickets.set(all);
-      return;
-    }
-
-    const filtered = all.filter(t =>
-      t.ticketNumber.toLowerCase().includes(query) ||
-      t.title.toLowerCase().includes(query)
-    );
-    this.tickets.set(filtered);
+    this.searchTerms.next(this.searchQuery.trim());
   }
 
   isAdmin(): boolean {
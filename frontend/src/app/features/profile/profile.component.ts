@@ -23,6 +23,12 @@ export class ProfileComponent implements OnInit {
         { label: 'English', value: 'en-US' }
     ];
 
+    emailDelivery: 'IMMEDIATE' | 'DIGEST' = 'IMMEDIATE';
+    emailDeliveryOptions = [
+        { label: 'PROFILE.EMAIL_IMMEDIATE', value: 'IMMEDIATE' },
+        { label: 'PROFILE.EMAIL_DIGEST', value: 'DIGEST' }
+    ];
+
     constructor(
         private authService: AuthService,
         private teamService: TeamService,
@@ -54,9 +60,21 @@ export class ProfileComponent implements OnInit {
             });
         }
     }
+    onEmailDeliveryChange() {
+        this.userService.updateEmailDelivery(this.emailDelivery).subscribe({
+            next: (updatedUser) => {
+                this.user.update(user => user ? { ...user, emailDelivery: updatedUser.emailDelivery } : user);
+            },
+            error: (error) => {
+                console.error('Failed to save email delivery preference:', error);
+            }
+        });
+    }
+
     ngOnInit() {
         const user = this.authService.currentUser();
         console.log('ProfileComponent user:', user);
         this.user.set(user);
+        this.emailDelivery = user?.emailDelivery || 'IMMEDIATE';
     }
 }
@@ -12,7 +12,7 @@ import { FormsModule } from '@angular/forms';
 import { Ticket, TicketService, TICKET_STATUS_DESCRIPTIONS, TICKET_PRIORITY_DESCRIPTIONS } from '../../../core/ticket.service';
 import { AuthService, User } from '../../../core/auth.service';
 import { TeamService, Team } from '../../../core/team.service';
-import { Observable, of } from 'rxjs';
+import { Observable, forkJoin, of } from 'rxjs';
 
 import { TooltipModule } from 'primeng/tooltip';
 
@@ -113,34 +113,41 @@ export class TicketListComponent implements OnInit {
 
   initializeTicketCounts() {
     this.activeIndices = []; // Start with all collapsed
-    this.ticketStatuses.forEach((status, index) => {
+    const filters: any = {};
+    if (this.currentFilter === 'MY') {
+      filters.assignedToMe = true;
+    }
+    // Admin team filter
+    if (this.isAdmin() && this.selectedTeamId) {
+      filters.assignedTeam = this.selectedTeamId;
+    }
+
+    this.ticketStatuses.forEach(status => {
       // Reset tickets for this status when filters change
       this.ticketsByStatus[status] = [];
       this.loadingByStatus[status] = true;
-      const filters: any = { status: status };
-      if (this.currentFilter === 'MY') {
-        filters.assignedToMe = true;
-      }
-      // Admin team filter
-      if (this.isAdmin() && this.selectedTeamId) {
-        filters.assignedTeam = this.selectedTeamId;
-      }
-      console.log('Filters for status', status, filters);
-      if (status === 'RESOLVED' || status === 'CLOSED') {
-        filters.statusChangedFrom = new Date().toISOString().split('T')[0];
-      }
+    });
 
-      // Fetch just 1 record to get the total count
-      this.ticketService.getTickets(0, 1, filters, 'createdAt,desc').subscribe(pageData => {
-        this.totalRecordsByStatus[status] = pageData.totalElements;
+    // RESOLVED and CLOSED only count tickets changed today, so they need their own facet query
+    const finishedStatuses = ['RESOLVED', 'CLOSED'];
+    const finishedFilters = { ...filters, statusChangedFrom: new Date().toISOString().split('T')[0] };
+
+    forkJoin([
+      this.ticketService.getTicketFacets(filters),
+      this.ticketService.getTicketFacets(finishedFilters)
+    ]).subscribe(([facets, finishedFacets]) => {
+      this.ticketStatuses.forEach((status, index) => {
+        const source = finishedStatuses.includes(status) ? finishedFacets : facets;
+        const total = source.byStatus[status] || 0;
+        this.totalRecordsByStatus[status] = total;
         this.loadingByStatus[status] = false;
 
         // If there are tickets, expand the tab
-        if (pageData.totalElements > 0) {
+        if (total > 0) {
           this.activeIndices = [...this.activeIndices, index];
-          this.activeIndices.sort((a, b) => a - b);
         }
       });
+      this.activeIndices.sort((a, b) => a - b);
     });
   }
 
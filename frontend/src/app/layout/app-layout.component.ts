@@ -16,6 +16,7 @@ import { TooltipModule } from 'primeng/tooltip';
 import { ToastModule } from 'primeng/toast';
 
 import { Router } from '@angular/router';
+import { Subscription } from 'rxjs';
 
 @Component({
   selector: 'app-layout',
@@ -25,9 +26,10 @@ import { Router } from '@angular/router';
 })
 export class AppLayoutComponent implements OnInit, OnDestroy {
   notifications = signal<Notification[]>([]);
+  unreadCount = signal<number>(0);
   sidebarCollapsed = signal<boolean>(false);
   mobileSidebarOpen = signal<boolean>(false);
-  private pollingInterval: any;
+  private notificationStream?: Subscription;
 
   toggleSidebar() {
     // On desktop (md and up), we toggle the collapsed state
@@ -56,29 +58,42 @@ export class AppLayoutComponent implements OnInit, OnDestroy {
       this.translate.use(savedLang);
     }
 
-    this.loadNotifications();
-    this.pollingInterval = setInterval(() => {
-      this.loadNotifications();
-    }, 30000); // Poll every 30 seconds
+    this.loadNotifications(true);
   }
 
   ngOnDestroy() {
-    if (this.pollingInterval) {
-      clearInterval(this.pollingInterval);
-    }
+    this.notificationStream?.unsubscribe();
   }
 
-  loadNotifications() {
+  loadNotifications(subscribe = false) {
     if (this.authService.currentUser()) {
-      this.notificationService.getUnreadNotifications().subscribe(notifications => {
+      this.notificationService.getUnreadPage().subscribe(page => {
+        const notifications = page.content;
         this.notifications.set(notifications);
+        this.unreadCount.set(page.totalElements ?? notifications.length);
+        if (subscribe) {
+          this.subscribeToNotifications(Math.max(0, ...notifications.map(n => n.id)));
+        }
       });
     }
   }
 
+  // New notifications are pushed by the server instead of polled; anything created after the initial
+  // load but before the stream opened is replayed from lastId
+  subscribeToNotifications(lastId: number) {
+    this.notificationStream?.unsubscribe();
+    this.notificationStream = this.notificationService.streamNotifications(lastId, () => this.loadNotifications()).subscribe(notification => {
+      if (!this.notifications().some(n => n.id === notification.id)) {
+        this.notifications.update(current => [notification, ...current]);
+        this.unreadCount.update(count => count + 1);
+      }
+    });
+  }
+
   markAsRead(notification: Notification) {
     this.notificationService.markAsRead(notification.id).subscribe(() => {
       this.notifications.update(current => current.filter(n => n.id !== notification.id));
+      this.unreadCount.update(count => Math.max(0, count - 1));
       // Navigate to ticket if needed
       if (notification.ticket) {
         this.router.navigate(['/tickets', notification.ticket.id]);
@@ -86,6 +101,13 @@ export class AppLayoutComponent implements OnInit, OnDestroy {
     });
   }
 
+  markAllAsRead() {
+    this.notificationService.markAllAsRead().subscribe(() => {
+      this.notifications.set([]);
+      this.unreadCount.set(0);
+    });
+  }
+
   navigateToProfile() {
     this.router.navigate(['/profile']);
   }